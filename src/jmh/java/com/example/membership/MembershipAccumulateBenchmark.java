@@ -0,0 +1,94 @@
+package com.example.membership;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 적립 경로의 요청당 할당량 비교. -prof gc 의 gc.alloc.rate.norm(B/op) 을 본다.
+ * entityRoundTrip 은 엔티티를 읽어 소유자를 확인하고 dirty checking 으로 갱신하던 이전 방식이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MembershipAccumulateBenchmark {
+
+    private static final String USER_ID = "jmh-accumulate";
+    private static final int PRICE = 10000;
+
+    private ConfigurableApplicationContext context;
+    private MembershipService membershipService;
+    private MembershipRepository membershipRepository;
+    private PointService ratePointService;
+    private PointLotService pointLotService;
+    private MembershipSummaryService membershipSummaryService;
+    private MembershipEventRepository membershipEventRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long membershipId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MembershipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "logging.level.root=warn")
+                .run();
+        membershipService = context.getBean(MembershipService.class);
+        membershipRepository = context.getBean(MembershipRepository.class);
+        ratePointService = context.getBean(PointService.class);
+        pointLotService = context.getBean(PointLotService.class);
+        membershipSummaryService = context.getBean(MembershipSummaryService.class);
+        membershipEventRepository = context.getBean(MembershipEventRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        membershipId = membershipService
+                .addMembership(USER_ID, MembershipType.NAVER, 0)
+                .getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void accumulate() {
+        membershipService.accumulateMembershipPoint(membershipId, USER_ID, PRICE);
+    }
+
+    @Benchmark
+    public void entityRoundTrip() {
+        transactionTemplate.executeWithoutResult(status -> {
+            final Membership membership = membershipRepository
+                    .findById(membershipId)
+                    .orElseThrow(() -> new MembershipException(MembershipErrorResult.MEMBERSHIP_NOT_FOUND));
+            if (!membership.getUserId().equals(USER_ID)) {
+                throw new MembershipException(MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
+            }
+
+            final int additionalAmount = ratePointService.calculateAmount(PRICE);
+            membership.setPoint(membership.getPoint() + additionalAmount);
+            pointLotService.accrue(membershipId, additionalAmount);
+            membershipSummaryService.apply(USER_ID, 0, additionalAmount);
+            membershipEventRepository.save(MembershipEvent.builder()
+                    .membershipId(membershipId)
+                    .userId(USER_ID)
+                    .eventType(MembershipEventType.ACCUMULATED)
+                    .pointDelta((long) additionalAmount)
+                    .build());
+        });
+    }
+}
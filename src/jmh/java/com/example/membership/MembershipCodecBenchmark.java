@@ -0,0 +1,84 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON 대비 CBOR 인코딩/디코딩 비용 비교. 페이로드 크기는 Setup 단계에서 로그로 남긴다.
+ * (jmh 소스셋에는 Lombok annotation processor 가 없어 로거를 직접 만든다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MembershipCodecBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(MembershipCodecBenchmark.class);
+
+    @Param({"3", "100"})
+    private int size;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+
+    private List<MembershipDetailResponse> responses;
+    private byte[] jsonPayload;
+    private byte[] cborPayload;
+
+    @Setup
+    public void setUp() throws Exception {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+        final MembershipType[] types = MembershipType.values();
+        responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(MembershipDetailResponse.builder()
+                    .id((long) i)
+                    .membershipType(types[i % types.length])
+                    .point(i * 100L)
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                    .build());
+        }
+
+        jsonPayload = jsonMapper.writeValueAsBytes(responses);
+        cborPayload = cborMapper.writeValueAsBytes(responses);
+        log.info("Codec payload. size: {}, json: {} bytes, cbor: {} bytes", size, jsonPayload.length, cborPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws Exception {
+        return jsonMapper.readTree(jsonPayload);
+    }
+
+    @Benchmark
+    public JsonNode decodeCbor() throws Exception {
+        return cborMapper.readTree(cborPayload);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 멤버십 목록 JSON 을 응답으로 내보내는 CPU 비용. identity 는 압축 없이 쓰기, jdkGzip 은 Tomcat 내장 압축처럼
+ * 응답마다 GZIPOutputStream(Deflater)을 새로 만들기, pooledGzip 은 MembershipGzipPool 재사용이다.
+ * 전송 바이트(원본/gzip)는 Setup 단계에서 로그로 남기고, 할당량은 -prof gc 로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MembershipCompressionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(MembershipCompressionBenchmark.class);
+    private static final int CHUNK = 8192;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private byte[] payload;
+    private MembershipGzipPool gzipPool;
+    private final CountingOutputStream wire = new CountingOutputStream();
+
+    @Setup
+    public void setUp() throws Exception {
+        final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        final MembershipType[] types = MembershipType.values();
+        final MembershipTier[] tiers = MembershipTier.values();
+        final List<MembershipDetailResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(MembershipDetailResponse.builder()
+                    .id(1_000_000_000_000L + i * 4096L)
+                    .membershipType(types[i % types.length])
+                    .point(i * 137L % 100_000)
+                    .tier(tiers[i % tiers.length])
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i * 97L))
+                    .build());
+        }
+        payload = jsonMapper.writeValueAsBytes(responses);
+        gzipPool = new MembershipGzipPool(6, 4, 2048, CHUNK);
+
+        pooledGzip();
+        log.info(
+                "Compression payload. size: {}, raw: {} bytes, gzip: {} bytes ({}%)",
+                size,
+                payload.length,
+                wire.count,
+                String.format("%.1f", 100.0 * wire.count / payload.length));
+    }
+
+    // Jackson 이 응답 스트림에 쓰는 것처럼 CHUNK 단위로 나눠 쓴다.
+    @Benchmark
+    public long identity() throws IOException {
+        wire.count = 0;
+        for (int offset = 0; offset < payload.length; offset += CHUNK) {
+            wire.write(payload, offset, Math.min(CHUNK, payload.length - offset));
+        }
+        return wire.count;
+    }
+
+    @Benchmark
+    public long jdkGzip() throws IOException {
+        wire.count = 0;
+        try (GZIPOutputStream gzip = new GZIPOutputStream(wire, CHUNK)) {
+            for (int offset = 0; offset < payload.length; offset += CHUNK) {
+                gzip.write(payload, offset, Math.min(CHUNK, payload.length - offset));
+            }
+        }
+        return wire.count;
+    }
+
+    @Benchmark
+    public long pooledGzip() throws IOException {
+        wire.count = 0;
+        final MembershipGzipPool.Encoder encoder = gzipPool.acquire();
+        try {
+            encoder.start(wire);
+            for (int offset = 0; offset < payload.length; offset += CHUNK) {
+                encoder.write(payload, offset, Math.min(CHUNK, payload.length - offset), wire);
+            }
+            encoder.finish(wire);
+        } finally {
+            gzipPool.release(encoder);
+        }
+        return wire.count;
+    }
+
+    // 소켓 대신 쓴 바이트 수만 센다.
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.membership;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 멤버십 대량 insert 처리량(행/초). identity 는 Hibernate 가 IDENTITY id 로 하던 대로 행마다 insert 를 실행하고
+ * 생성 키를 읽는다. snowflake 는 MembershipIdGenerator 로 id 를 먼저 정하고 hibernate.jdbc.batch_size 만큼 묶는다.
+ * 로컬 H2 라 네트워크 왕복이 없으므로 MariaDB 에서의 차이는 이보다 크다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MembershipInsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+    private static final String COLUMNS = "membership_type, user_id, point, lifetime_point, tier, created_at";
+
+    private Connection connection;
+    private MembershipIdGenerator generator;
+
+    @Setup
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:insert-benchmark;MODE=MariaDB", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE membership_identity (id BIGINT NOT NULL AUTO_INCREMENT, "
+                    + "membership_type VARCHAR(20) NOT NULL, user_id VARCHAR(255) NOT NULL, point BIGINT NOT NULL, "
+                    + "lifetime_point BIGINT NOT NULL, tier VARCHAR(10) NOT NULL, created_at DATETIME(6) NOT NULL, "
+                    + "PRIMARY KEY (id))");
+            statement.execute("CREATE TABLE membership_snowflake (id BIGINT NOT NULL, "
+                    + "membership_type VARCHAR(20) NOT NULL, user_id VARCHAR(255) NOT NULL, point BIGINT NOT NULL, "
+                    + "lifetime_point BIGINT NOT NULL, tier VARCHAR(10) NOT NULL, created_at DATETIME(6) NOT NULL, "
+                    + "PRIMARY KEY (id))");
+        }
+        connection.commit();
+        generator = new MembershipIdGenerator(0, Duration.ofSeconds(1));
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE membership_identity");
+            statement.execute("TRUNCATE TABLE membership_snowflake");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    private static void bind(final PreparedStatement statement, final int offset, final int i) throws Exception {
+        statement.setString(offset, "NAVER");
+        statement.setString(offset + 1, "bench-" + i);
+        statement.setLong(offset + 2, 1000L);
+        statement.setLong(offset + 3, 1000L);
+        statement.setString(offset + 4, "BRONZE");
+        statement.setTimestamp(offset + 5, new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identity() throws Exception {
+        long lastId = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO membership_identity (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(statement, 1, i);
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long snowflake() throws Exception {
+        long lastId = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO membership_snowflake (id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                lastId = generator.nextId();
+                statement.setLong(1, lastId);
+                bind(statement, 2, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        return lastId;
+    }
+}
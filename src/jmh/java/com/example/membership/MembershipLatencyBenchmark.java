@@ -0,0 +1,76 @@
+package com.example.membership;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 상세 조회 한 건(서비스 → 리포지토리 → H2)을 지연 추적을 켠 컨텍스트와 끈 컨텍스트(membership.slo.enabled)에서 잰다.
+ * tracking=true 는 리포지토리 aspect 와 datasource-proxy 리스너의 SQL/bind 수집이 실제로 돌고, 웹 컨텍스트가 없으므로
+ * 인터셉터가 여는 라우트 구간은 같은 begin/end 로 감싼다. 두 결과의 비가 요청당 추적 오버헤드다.
+ * SLO 는 넘지 않게 둬서 정상 경로만 잰다. (./gradlew jmh -PjmhIncludes=MembershipLatencyBenchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MembershipLatencyBenchmark {
+
+    private static final String USER_ID = "jmh-latency";
+
+    @Param({"false", "true"})
+    private boolean tracking;
+
+    private ConfigurableApplicationContext context;
+    private MembershipService membershipService;
+    private MembershipLatencyTracker tracker;
+    private Long membershipId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MembershipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-latency;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "logging.level.root=warn",
+                        "membership.slo.enabled=" + tracking,
+                        "membership.slo.default-threshold=10s",
+                        "membership.slo.thresholds=")
+                .run();
+        membershipService = context.getBean(MembershipService.class);
+        tracker = context.getBean(MembershipLatencyTracker.class);
+
+        membershipId = membershipService
+                .addMembership(USER_ID, MembershipType.NAVER, 0)
+                .getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MembershipDetailResponse getMembership() {
+        if (!tracking) {
+            return membershipService.getMembership(membershipId, USER_ID);
+        }
+        final MembershipLatencyTracker.Mark request =
+                tracker.begin("MembershipController#getMembership", USER_ID, null);
+        try {
+            return membershipService.getMembership(membershipId, USER_ID);
+        } finally {
+            tracker.end(request);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.membership;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * tracing 꺼짐 / 켜짐(샘플링 0) / 켜짐(샘플링 1) 에서 상세 조회와 적립 한 건의 비용 비교.
+ * span 은 exporter 없이 만들기만 하므로 내보내기 비용은 빠진 계측 자체의 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MembershipTracingBenchmark {
+
+    private static final String USER_ID = "jmh-tracing";
+
+    @Param({"off", "0.0", "1.0"})
+    private String sampling;
+
+    private ConfigurableApplicationContext context;
+    private MembershipService membershipService;
+    private Long membershipId;
+
+    @Setup
+    public void setUp() {
+        final boolean enabled = !sampling.equals("off");
+        context = new SpringApplicationBuilder(MembershipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-tracing;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=warn",
+                        "management.tracing.enabled=" + enabled,
+                        "management.observations.annotations.enabled=" + enabled,
+                        "jdbc.datasource-proxy.enabled=" + enabled,
+                        "management.tracing.sampling.probability=" + (enabled ? sampling : "0.0"))
+                .run();
+        membershipService = context.getBean(MembershipService.class);
+        membershipId = membershipService
+                .addMembership(USER_ID, MembershipType.NAVER, 0)
+                .getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MembershipDetailResponse getMembership() {
+        return membershipService.getMembership(membershipId, USER_ID);
+    }
+
+    @Benchmark
+    public void accumulate() {
+        membershipService.accumulateMembershipPoint(membershipId, USER_ID, 10000);
+    }
+}
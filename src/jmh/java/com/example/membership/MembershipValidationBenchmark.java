@@ -0,0 +1,67 @@
+package com.example.membership;
+
+import java.util.concurrent.TimeUnit;
+
+import com.example.membership.ValidationGroups.MembershipAddMarker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * 컨트롤러가 @Validated(MembershipAddMarker) 로 하는 검증을 Hibernate Validator 경로와 MembershipRequestValidator
+ * 경로로 비교한다. 요청마다 새 BindingResult 를 만드는 것까지 포함한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MembershipValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String input;
+
+    private LocalValidatorFactoryBean reflective;
+    private MembershipRequestValidator precompiled;
+    private MembershipRequest request;
+
+    @Setup
+    public void setUp() {
+        reflective = new LocalValidatorFactoryBean();
+        reflective.afterPropertiesSet();
+        precompiled = new MembershipRequestValidator(reflective);
+        request = "valid".equals(input)
+                ? new MembershipRequest(10000, MembershipType.NAVER)
+                : new MembershipRequest(-1, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        reflective.close();
+    }
+
+    private Errors validate(final SmartValidator validator) {
+        final Errors errors = new BeanPropertyBindingResult(request, "membershipRequest");
+        validator.validate(request, errors, MembershipAddMarker.class);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors reflective() {
+        return validate(reflective);
+    }
+
+    @Benchmark
+    public Errors precompiled() {
+        return validate(precompiled);
+    }
+}
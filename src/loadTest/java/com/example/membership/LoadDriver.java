@@ -0,0 +1,162 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.example.membership.LoadReport.Outcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 고정 개수의 워커가 프로필 비율대로 HTTP 요청을 보내고 지연을 기록한다.
+ * 사용자는 Zipf 분포로 선택되며, 워커마다 seed 가 정해져 있어 같은 설정이면 같은 트래픽을 재현한다.
+ */
+public class LoadDriver {
+
+    private static final String BASE_PATH = "/api/v1/memberships";
+
+    private final HttpClient httpClient =
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicReference<String> baseUrl;
+    private final String[] userIds;
+    private final long[] membershipIds;
+    private final AtomicLongArray churnMembershipIds;
+
+    public LoadDriver(final String baseUrl, final String[] userIds, final long[] membershipIds) {
+        this.baseUrl = new AtomicReference<>(baseUrl);
+        this.userIds = userIds;
+        this.membershipIds = membershipIds;
+        this.churnMembershipIds = new AtomicLongArray(userIds.length);
+    }
+
+    // 배포 시나리오에서 다음 요청부터 새 인스턴스로 보낸다. 이미 보낸 요청은 기존 인스턴스에서 끝난다.
+    public void retarget(final String baseUrl) {
+        this.baseUrl.set(baseUrl);
+    }
+
+    public LoadReport run(final TrafficProfile profile, final LoadThresholds settings) throws InterruptedException {
+        return run(profile.name(), profile, settings, settings.getWarmup(), settings.getDuration());
+    }
+
+    public LoadReport run(
+            final String name,
+            final TrafficProfile profile,
+            final LoadThresholds settings,
+            final Duration warmup,
+            final Duration duration)
+            throws InterruptedException {
+        final LoadReport report = new LoadReport(name);
+        final long measureFrom = System.nanoTime() + warmup.toNanos();
+        final long measureUntil = measureFrom + duration.toNanos();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(settings.getConcurrency());
+        for (int worker = 0; worker < settings.getConcurrency(); worker++) {
+            final ZipfGenerator zipf =
+                    new ZipfGenerator(userIds.length, profile.getZipfExponent(), settings.getSeed() + worker);
+            executor.execute(() -> drive(profile, zipf, report, measureFrom, measureUntil));
+        }
+        executor.shutdown();
+        executor.awaitTermination(warmup.plus(duration).toSeconds() + 30, TimeUnit.SECONDS);
+
+        report.finish(measureUntil - measureFrom);
+        return report;
+    }
+
+    private void drive(
+            final TrafficProfile profile,
+            final ZipfGenerator zipf,
+            final LoadReport report,
+            final long measureFrom,
+            final long measureUntil) {
+        long now = System.nanoTime();
+        while (now < measureUntil) {
+            final LoadOperation operation = profile.pick(zipf.nextUniform());
+            final int rank = zipf.next();
+
+            final long started = System.nanoTime();
+            final Outcome outcome = execute(operation, rank);
+            now = System.nanoTime();
+
+            if (outcome != null && started >= measureFrom) {
+                report.record(operation, now - started, outcome);
+            }
+        }
+    }
+
+    private Outcome execute(final LoadOperation operation, final int rank) {
+        try {
+            return switch (operation) {
+                case LIST -> outcomeOf(send(get(BASE_PATH, rank)));
+                case DETAIL -> outcomeOf(send(get(BASE_PATH + "/" + membershipIds[rank], rank)));
+                case ACCUMULATE -> outcomeOf(
+                        send(post(BASE_PATH + "/" + membershipIds[rank] + "/accumulate", rank, "{\"point\":1000}")));
+                case ADD -> add(rank);
+                case REMOVE -> remove(rank);
+            };
+        } catch (IOException e) {
+            return Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.ERROR;
+        }
+    }
+
+    private Outcome add(final int rank) throws IOException, InterruptedException {
+        final HttpResponse<String> response =
+                send(post(BASE_PATH, rank, "{\"point\":0,\"membershipType\":\"KAKAO\"}"));
+        if (response.statusCode() == 201) {
+            churnMembershipIds.set(rank, objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return outcomeOf(response);
+    }
+
+    private Outcome remove(final int rank) throws IOException, InterruptedException {
+        final long membershipId = churnMembershipIds.getAndSet(rank, 0);
+        if (membershipId == 0) {
+            return null;
+        }
+        return outcomeOf(send(HttpRequest.newBuilder(URI.create(baseUrl.get() + BASE_PATH + "/" + membershipId))
+                .header(USER_ID_HEADER, userIds[rank])
+                .DELETE()
+                .build()));
+    }
+
+    private HttpRequest get(final String path, final int rank) {
+        return HttpRequest.newBuilder(URI.create(baseUrl.get() + path))
+                .header(USER_ID_HEADER, userIds[rank])
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(final String path, final int rank, final String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl.get() + path))
+                .header(USER_ID_HEADER, userIds[rank])
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(final HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Outcome outcomeOf(final HttpResponse<String> response) {
+        final int status = response.statusCode();
+        if (status >= 500) {
+            return Outcome.ERROR;
+        }
+        return status >= 400 ? Outcome.REJECTED : Outcome.OK;
+    }
+}
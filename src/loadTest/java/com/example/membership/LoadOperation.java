@@ -0,0 +1,9 @@
+package com.example.membership;
+
+public enum LoadOperation {
+    LIST,
+    DETAIL,
+    ACCUMULATE,
+    ADD,
+    REMOVE,
+}
@@ -0,0 +1,113 @@
+package com.example.membership;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import lombok.Getter;
+
+/**
+ * 연산별 지연 히스토그램(마이크로초)과 결과 카운트. 워커 스레드에서 동시에 기록한다.
+ */
+public class LoadReport {
+
+    public enum Outcome {
+        OK,
+        REJECTED,
+        ERROR,
+    }
+
+    @Getter
+    private final String name;
+
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+    private final Histogram total = new ConcurrentHistogram(3);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private long elapsedNanos;
+
+    public LoadReport(final String name) {
+        this.name = name;
+        for (final LoadOperation operation : LoadOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+        }
+    }
+
+    public void record(final LoadOperation operation, final long latencyNanos, final Outcome outcome) {
+        final long micros = Math.max(1, latencyNanos / 1_000);
+        histograms.get(operation).recordValue(micros);
+        total.recordValue(micros);
+        if (outcome == Outcome.REJECTED) {
+            rejected.increment();
+        } else if (outcome == Outcome.ERROR) {
+            errors.increment();
+        }
+    }
+
+    public void finish(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getTotalCount() {
+        return total.getTotalCount();
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : total.getTotalCount() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public double getErrorRate() {
+        return total.getTotalCount() == 0 ? 0 : (double) errors.sum() / total.getTotalCount();
+    }
+
+    public double getP99Millis() {
+        return total.getValueAtPercentile(99.0) / 1_000.0;
+    }
+
+    public String summary() {
+        final StringBuilder builder = new StringBuilder()
+                .append(String.format(
+                        "%n=== %s: %d ops, %.1f ops/s, rejected=%d, errors=%d%n",
+                        name, getTotalCount(), getThroughput(), rejected.sum(), errors.sum()))
+                .append(String.format(
+                        "%-12s %10s %10s %10s %10s %10s %10s%n", "op", "count", "p50(ms)", "p90", "p99", "p99.9",
+                        "max"));
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                builder.append(row(operation.name(), histogram));
+            }
+        });
+        return builder.append(row("ALL", total)).toString();
+    }
+
+    private static String row(final String label, final Histogram histogram) {
+        return String.format(
+                "%-12s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                label,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50.0) / 1_000.0,
+                histogram.getValueAtPercentile(90.0) / 1_000.0,
+                histogram.getValueAtPercentile(99.0) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0,
+                histogram.getMaxValue() / 1_000.0);
+    }
+
+    public List<String> violations(final LoadThresholds thresholds) {
+        final List<String> violations = new ArrayList<>();
+        if (getP99Millis() > thresholds.getMaxP99Millis()) {
+            violations.add(String.format("p99 %.2fms > %.2fms", getP99Millis(), thresholds.getMaxP99Millis()));
+        }
+        if (getThroughput() < thresholds.getMinThroughput()) {
+            violations.add(String.format("throughput %.1f ops/s < %.1f", getThroughput(), thresholds.getMinThroughput()));
+        }
+        if (getErrorRate() > thresholds.getMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f > %.4f", getErrorRate(), thresholds.getMaxErrorRate()));
+        }
+        return violations;
+    }
+}
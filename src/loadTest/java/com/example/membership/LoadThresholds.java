@@ -0,0 +1,35 @@
+package com.example.membership;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 부하 실행 설정과 회귀 임계치. -Pload.xxx 로 넘긴 값이 시스템 프로퍼티로 들어온다.
+ */
+@Getter
+@Builder
+public class LoadThresholds {
+    private final int users;
+    private final int concurrency;
+    private final long seed;
+    private final Duration warmup;
+    private final Duration duration;
+    private final double maxP99Millis;
+    private final double minThroughput;
+    private final double maxErrorRate;
+
+    public static LoadThresholds fromSystemProperties() {
+        return LoadThresholds.builder()
+                .users(Integer.getInteger("load.users", 1_000))
+                .concurrency(Integer.getInteger("load.concurrency", 16))
+                .seed(Long.getLong("load.seed", 42L))
+                .warmup(Duration.ofSeconds(Long.getLong("load.warmupSeconds", 3L)))
+                .duration(Duration.ofSeconds(Long.getLong("load.durationSeconds", 10L)))
+                .maxP99Millis(Double.parseDouble(System.getProperty("load.maxP99Millis", "250")))
+                .minThroughput(Double.parseDouble(System.getProperty("load.minThroughput", "50")))
+                .maxErrorRate(Double.parseDouble(System.getProperty("load.maxErrorRate", "0.001")))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MembershipLoadTest {
+
+    private static final String USER_PREFIX = "load-user-";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private LoadThresholds settings;
+    private LoadDriver driver;
+
+    @BeforeEach
+    void seed() {
+        settings = LoadThresholds.fromSystemProperties();
+
+        final String[] userIds = new String[settings.getUsers()];
+        final long[] membershipIds = new long[settings.getUsers()];
+        final List<Membership> missing = new ArrayList<>();
+        for (int rank = 0; rank < userIds.length; rank++) {
+            userIds[rank] = USER_PREFIX + rank;
+            final Membership existing =
+                    membershipRepository.findByUserIdAndMembershipType(userIds[rank], MembershipType.NAVER);
+            if (existing == null) {
+                missing.add(Membership.builder()
+                        .userId(userIds[rank])
+                        .membershipType(MembershipType.NAVER)
+                        .point(0L)
+                        .build());
+            } else {
+                membershipIds[rank] = existing.getId();
+            }
+        }
+        for (final Membership saved : membershipRepository.saveAll(missing)) {
+            membershipIds[Integer.parseInt(saved.getUserId().substring(USER_PREFIX.length()))] = saved.getId();
+        }
+
+        driver = new LoadDriver("http://localhost:" + port, userIds, membershipIds);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TrafficProfile.class)
+    @DisplayName("트래픽 프로필별 처리량/지연 회귀 검사")
+    void trafficProfile(final TrafficProfile profile) throws Exception {
+        final String selected = System.getProperty("load.profile");
+        Assumptions.assumeTrue(selected == null || selected.equalsIgnoreCase(profile.name()));
+
+        // when
+        final LoadReport report = driver.run(profile, settings);
+
+        // then
+        log.info("Load profile finished. {}", report.summary());
+        assertThat(report.getTotalCount()).isPositive();
+        assertThat(report.violations(settings)).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 부하를 건 채로 새 인스턴스를 띄워 트래픽을 옮기고 기존 인스턴스를 graceful 종료한다. 전환 구간을 포함한 p99 와 오류율을 본다.
+ * 같은 JVM 이라 JIT 은 두 인스턴스가 공유하므로, 새 인스턴스 쪽에서는 커넥션 풀/쿼리 plan/DispatcherServlet 초기화 비용이 드러난다.
+ *
+ * <p>./gradlew loadTest -Pload.profile=ROLLING_DEPLOY -Pload.deployProfile=HOT_KEY_ACCUMULATE -Pload.durationSeconds=30
+ */
+@Slf4j
+class RollingDeployLoadTest {
+
+    private static final String PROFILE_NAME = "ROLLING_DEPLOY";
+    private static final String USER_PREFIX = "deploy-user-";
+    // LB 가 기존 인스턴스를 빼는 데 걸리는 시간. 그 사이 이미 주소를 고른 요청이 기존 인스턴스로 들어간다.
+    private static final Duration DEREGISTRATION_DELAY = Duration.ofMillis(500);
+
+    @Test
+    @DisplayName("배포 중 p99/오류율 회귀 검사")
+    void rollingDeploy() throws Exception {
+        final String selected = System.getProperty("load.profile");
+        Assumptions.assumeTrue(selected == null || selected.equalsIgnoreCase(PROFILE_NAME));
+
+        final LoadThresholds settings = LoadThresholds.fromSystemProperties();
+        final TrafficProfile profile =
+                TrafficProfile.valueOf(System.getProperty("load.deployProfile", "HOT_KEY_ACCUMULATE"));
+
+        final ConfigurableApplicationContext current = start();
+        ConfigurableApplicationContext next = null;
+        final ExecutorService background = Executors.newSingleThreadExecutor();
+        try {
+            final LoadDriver driver = seed(current, settings);
+            final Future<LoadReport> running = background.submit(() -> driver.run(
+                    PROFILE_NAME, profile, settings, settings.getWarmup(), settings.getDuration()));
+
+            // 측정 구간의 1/3 지점에서 배포를 시작한다. run() 은 warm-up 이 끝나 readiness 가 켜진 뒤에 돌아온다.
+            Thread.sleep(settings.getWarmup().plus(settings.getDuration().dividedBy(3)).toMillis());
+            next = start();
+            driver.retarget(baseUrlOf(next));
+            Thread.sleep(DEREGISTRATION_DELAY.toMillis());
+            current.close();
+
+            final LoadReport report = running.get();
+
+            log.info("Rolling deploy load finished. {}", report.summary());
+            assertThat(report.getTotalCount()).isPositive();
+            assertThat(report.violations(settings)).isEmpty();
+        } finally {
+            background.shutdownNow();
+            if (next != null) {
+                next.close();
+            }
+            if (current.isActive()) {
+                current.close();
+            }
+        }
+    }
+
+    // 두 인스턴스는 같은 in-memory DB(이름이 같은 H2)를 본다. 배포처럼 warm-up 을 켠다.
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(MembershipApplication.class)
+                .properties("server.port=0", "membership.warmup.enabled=true")
+                .run();
+    }
+
+    private static String baseUrlOf(final ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static LoadDriver seed(final ConfigurableApplicationContext context, final LoadThresholds settings) {
+        final MembershipRepository membershipRepository = context.getBean(MembershipRepository.class);
+        final String[] userIds = new String[settings.getUsers()];
+        final long[] membershipIds = new long[settings.getUsers()];
+        final List<Membership> missing = new ArrayList<>();
+        for (int rank = 0; rank < userIds.length; rank++) {
+            userIds[rank] = USER_PREFIX + rank;
+            missing.add(Membership.builder()
+                    .userId(userIds[rank])
+                    .membershipType(MembershipType.NAVER)
+                    .point(0L)
+                    .build());
+        }
+        for (final Membership saved : membershipRepository.saveAll(missing)) {
+            membershipIds[Integer.parseInt(saved.getUserId().substring(USER_PREFIX.length()))] = saved.getId();
+        }
+        return new LoadDriver(baseUrlOf(context), userIds, membershipIds);
+    }
+}
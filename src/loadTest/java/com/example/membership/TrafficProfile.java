@@ -0,0 +1,44 @@
+package com.example.membership;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * 부하 프로필별 연산 비율(합이 100)과 Zipf 지수. 지수가 클수록 소수의 사용자에 트래픽이 몰린다.
+ */
+@Getter
+public enum TrafficProfile {
+    READ_HEAVY(0.8, Map.of(LoadOperation.LIST, 85, LoadOperation.DETAIL, 12, LoadOperation.ACCUMULATE, 3)),
+    HOT_KEY_ACCUMULATE(1.2, Map.of(LoadOperation.ACCUMULATE, 80, LoadOperation.DETAIL, 20)),
+    CREATE_DELETE_CHURN(
+            0.8, Map.of(LoadOperation.ADD, 45, LoadOperation.REMOVE, 45, LoadOperation.LIST, 10)),
+    ;
+
+    private final double zipfExponent;
+    private final Map<LoadOperation, Integer> weights;
+
+    @Getter(AccessLevel.NONE)
+    private final LoadOperation[] table = new LoadOperation[100];
+
+    TrafficProfile(final double zipfExponent, final Map<LoadOperation, Integer> weights) {
+        this.zipfExponent = zipfExponent;
+        this.weights = new EnumMap<>(weights);
+
+        int slot = 0;
+        for (final Map.Entry<LoadOperation, Integer> entry : this.weights.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                table[slot++] = entry.getKey();
+            }
+        }
+        if (slot != table.length) {
+            throw new IllegalStateException(name() + " weights must sum to 100");
+        }
+    }
+
+    public LoadOperation pick(final double uniform) {
+        return table[(int) (uniform * table.length)];
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.membership;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * [0, size) 범위의 순위를 Zipf 분포로 뽑는다. 누적 분포를 미리 계산해두고 이진 탐색한다.
+ * 같은 seed 면 같은 순서를 재현한다.
+ */
+public class ZipfGenerator {
+
+    private final double[] cumulative;
+    private final SplittableRandom random;
+
+    public ZipfGenerator(final int size, final double exponent, final long seed) {
+        this.cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        this.random = new SplittableRandom(seed);
+    }
+
+    public int next() {
+        final int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        final int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    public double nextUniform() {
+        return random.nextDouble();
+    }
+}
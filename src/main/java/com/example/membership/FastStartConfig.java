@@ -0,0 +1,23 @@
+package com.example.membership;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+@Profile("fast-start")
+@Configuration(proxyBeanMethods = false)
+public class FastStartConfig {
+
+    /**
+     * 나머지 빈은 지연 초기화하되, 마이그레이션과 EntityManagerFactory 는 기동 중에 만들어
+     * 첫 요청이 스키마 검증/메타모델 구성 비용을 떠안지 않게 한다.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistenceInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                FlywayMigrationInitializer.class, AbstractEntityManagerFactoryBean.class);
+    }
+}
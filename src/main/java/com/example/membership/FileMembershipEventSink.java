@@ -0,0 +1,46 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 이벤트를 한 줄에 하나씩 JSON 으로 로컬 파일에 이어 쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "membership.outbox.file-sink.path")
+public class FileMembershipEventSink implements MembershipEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileMembershipEventSink(
+            @Value("${membership.outbox.file-sink.path}") final Path path, final ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(final List<MembershipEvent> events) {
+        try (Writer writer = Files.newBufferedWriter(
+                path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (final MembershipEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
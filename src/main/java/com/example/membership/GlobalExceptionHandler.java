@@ -3,6 +3,7 @@ package com.example.membership;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.slf4j.MDC;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,7 +39,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private ResponseEntity<Object> makeErrorResponseEntity(final String errorDescription) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.toString(), errorDescription));
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.toString(), errorDescription, currentTraceId()));
     }
 
     @ExceptionHandler({MembershipException.class})
@@ -53,7 +56,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private ResponseEntity<ErrorResponse> makeErrorResponseEntity(final MembershipErrorResult errorResult) {
         return ResponseEntity.status(errorResult.getHttpStatus())
-                .body(new ErrorResponse(errorResult.name(), errorResult.getMessage()));
+                .body(new ErrorResponse(errorResult.name(), errorResult.getMessage(), currentTraceId()));
+    }
+
+    // 요청 observation 이 열려 있는 동안 tracing 이 MDC 에 넣어 두는 값. tracing 이 꺼져 있으면 null 이라 응답에서 빠진다.
+    private static String currentTraceId() {
+        return MDC.get("traceId");
     }
 
     @Getter
@@ -61,5 +69,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     static class ErrorResponse {
         private final String code;
         private final String message;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private final String traceId;
     }
 }
@@ -0,0 +1,26 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class HotBalanceCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private Long segment;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface HotBalanceCheckpointRepository extends JpaRepository<HotBalanceCheckpoint, String> {
+
+    @Query("select c.segment from HotBalanceCheckpoint c where c.nodeId = :nodeId")
+    Optional<Long> findSegmentByNodeId(@Param("nodeId") final String nodeId);
+
+    @Modifying
+    @Query(
+            value = "insert into hot_balance_checkpoint (node_id, segment, updated_at) values (:nodeId, :segment, :now) "
+                    + "on duplicate key update segment = values(segment), updated_at = values(updated_at)",
+            nativeQuery = true)
+    int mark(
+            @Param("nodeId") final String nodeId,
+            @Param("segment") final long segment,
+            @Param("now") final LocalDateTime now);
+}
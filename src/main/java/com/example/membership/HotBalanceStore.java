@@ -0,0 +1,468 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 적립이 몰리는 멤버십의 적립분을 메모리에 모아 두었다가 checkpoint 때 묶어서 DB 에 반영한다. 기본은 꺼져 있다.
+ *
+ * <p>멤버십 id 를 키로 하는 open addressing 테이블을 원시 배열로 들고, 요청 스레드는 슬롯의 pending 에 CAS 로 더하기만 한다.
+ * 테이블 구조(승격/강등)는 checkpoint 스레드 혼자 바꾼다. pending 과 WAL 세그먼트는 epoch 짝/홀로 두 벌을 두어,
+ * checkpoint 는 epoch 을 넘긴 뒤 이전 epoch 의 요청이 모두 빠지면 그 pending 과 세그먼트를 한 트랜잭션에 반영하고
+ * 반영한 세그먼트 번호를 같은 트랜잭션에 기록한다. 재기동 시 기록보다 뒤의 세그먼트만 다시 반영하므로 두 번 반영되지 않는다.
+ *
+ * <p>pending 과 WAL 에는 적립 포인트가 아니라 결제액을 모은다. 요청 경로에서는 등급을 확인할 수 없어서, checkpoint 가
+ * 멤버십 행 잠금을 잡고 실제 등급으로 적립률을 계산한 뒤 늘어난 누적 포인트로 등급 전이까지 처리한다. 그래서 한 checkpoint
+ * 구간의 적립은 구간 합계에 한 번 적립률을 곱하고, 구간 중에 등급 기준값을 넘겨도 checkpoint 시점 등급으로 계산된다.
+ *
+ * <p>WAL 은 요청마다 force 하지 않고 wal-sync-interval 마다 묶어서 force 한다. 프로세스만 죽으면 OS 가 이미 받은
+ * 레코드는 남지만, OS/호스트가 죽으면 마지막 force 이후(최대 한 주기)의 적립은 잃는다.
+ *
+ * <p>DB 잔액에는 checkpoint 전까지 pending 이 빠져 있다. 조회는 현재 등급으로 환산한 pending 을 더해 보여주지만
+ * 사용/이체는 DB 잔액 기준이다.
+ */
+@Slf4j
+@Component
+public class HotBalanceStore {
+
+    private static final long EMPTY = 0L;
+
+    private final boolean enabled;
+    private final int mask;
+    // id > 0: 활성, -id: 강등(남은 pending 반영 대기), 0: 빈 슬롯
+    private final AtomicLongArray keys;
+    private final AtomicReferenceArray<String> owners;
+    private final AtomicLongArray[] pending = new AtomicLongArray[2];
+    private final AtomicLongArray hits;
+    private final AtomicLongArray retiredAt;
+    private final AtomicLong[] inFlight = {new AtomicLong(), new AtomicLong()};
+    private final AtomicReferenceArray<FileChannel> segments = new AtomicReferenceArray<>(2);
+    private volatile long epoch;
+    // 반영에 실패해 그대로 얼려 둔 epoch. 다시 성공할 때까지 epoch 을 넘기지 않는다.
+    private long failedEpoch = -1L;
+
+    // 승격 후보를 고르는 빈도 sketch. checkpoint 마다 비워 구간 빈도로 쓴다.
+    private final AtomicIntegerArray sketch;
+    private final BlockingQueue<PromotionCandidate> candidates;
+    private final int promoteThreshold;
+    private final int demoteThreshold;
+
+    private final MembershipRepository membershipRepository;
+    private final PointLotService pointLotService;
+    private final MembershipSummaryService membershipSummaryService;
+    private final MembershipOutbox membershipOutbox;
+    private final PointService ratePointService;
+    private final MembershipTierTable membershipTierTable;
+    private final HotBalanceCheckpointRepository hotBalanceCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final HotBalanceWal wal;
+    private final String nodeId;
+
+    public HotBalanceStore(
+            final MembershipRepository membershipRepository,
+            final PointLotService pointLotService,
+            final MembershipSummaryService membershipSummaryService,
+            final MembershipOutbox membershipOutbox,
+            final PointService ratePointService,
+            final MembershipTierTable membershipTierTable,
+            final HotBalanceCheckpointRepository hotBalanceCheckpointRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${membership.hot-balance.enabled:false}") final boolean enabled,
+            @Value("${membership.hot-balance.capacity:4096}") final int capacity,
+            @Value("${membership.hot-balance.promote-threshold:50}") final int promoteThreshold,
+            @Value("${membership.hot-balance.demote-threshold:5}") final int demoteThreshold,
+            @Value("${membership.hot-balance.wal-dir:./hot-balance-wal}") final Path walDirectory,
+            @Value("${membership.hot-balance.node-id:local}") final String nodeId) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.enabled = enabled;
+        this.mask = size - 1;
+        this.keys = new AtomicLongArray(size);
+        this.owners = new AtomicReferenceArray<>(size);
+        this.pending[0] = new AtomicLongArray(size);
+        this.pending[1] = new AtomicLongArray(size);
+        this.hits = new AtomicLongArray(size);
+        this.retiredAt = new AtomicLongArray(size);
+        this.sketch = new AtomicIntegerArray(size * 4);
+        this.candidates = new ArrayBlockingQueue<>(size);
+        this.promoteThreshold = promoteThreshold;
+        this.demoteThreshold = demoteThreshold;
+        this.membershipRepository = membershipRepository;
+        this.pointLotService = pointLotService;
+        this.membershipSummaryService = membershipSummaryService;
+        this.membershipOutbox = membershipOutbox;
+        this.ratePointService = ratePointService;
+        this.membershipTierTable = membershipTierTable;
+        this.hotBalanceCheckpointRepository = hotBalanceCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.wal = enabled ? new HotBalanceWal(walDirectory) : null;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * 이전 프로세스가 반영하지 못한 세그먼트를 반영하고, 그보다 뒤 번호로 새 세그먼트를 연다.
+     */
+    @PostConstruct
+    public synchronized void recover() {
+        if (!enabled) {
+            return;
+        }
+        final long checkpointed =
+                hotBalanceCheckpointRepository.findSegmentByNodeId(nodeId).orElse(0L);
+        long last = checkpointed;
+        for (final long segment : wal.segments()) {
+            last = Math.max(last, segment);
+            if (segment <= checkpointed) {
+                continue;
+            }
+            final List<HotDelta> deltas = new ArrayList<>();
+            wal.read(segment).forEach((membershipId, delta) -> membershipRepository
+                    .findVersionById(membershipId)
+                    .ifPresent(version -> deltas.add(new HotDelta(membershipId, version.getUserId(), delta))));
+            apply(deltas, segment);
+            log.info("Hot balance WAL segment recovered. segment: {}, memberships: {}", segment, deltas.size());
+        }
+        wal.deleteUpTo(last);
+
+        epoch = last + 1;
+        segments.set(parityOf(epoch), wal.open(epoch));
+    }
+
+    /**
+     * 핫 멤버십이면 결제액을 WAL 과 pending 에 기록하고 true. 아니면 false 로 DB 경로를 타게 한다.
+     */
+    public boolean tryAccumulate(final long membershipId, final String userId, final long price) {
+        if (!enabled) {
+            return false;
+        }
+        while (true) {
+            final long current = epoch;
+            final int parity = parityOf(current);
+            inFlight[parity].incrementAndGet();
+            try {
+                // 증가 후 epoch 을 다시 확인해야 checkpoint 가 이 요청을 기다려 준다.
+                if (epoch != current) {
+                    continue;
+                }
+                final int slot = find(membershipId);
+                if (slot < 0 || keys.get(slot) != membershipId || !userId.equals(owners.get(slot))) {
+                    return false;
+                }
+                try {
+                    HotBalanceWal.append(segments.get(parity), membershipId, price);
+                } catch (IOException e) {
+                    log.warn("Hot balance WAL append failed. membershipId: {}", membershipId, e);
+                    return false;
+                }
+                pending[parity].getAndAdd(slot, price);
+                hits.incrementAndGet(slot);
+                return true;
+            } finally {
+                inFlight[parity].decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * DB 경로로 적립에 성공한 호출을 센다. 한 구간에서 임계치에 닿으면 다음 checkpoint 에서 승격한다.
+     */
+    public void recordColdHit(final long membershipId, final String userId) {
+        if (!enabled) {
+            return;
+        }
+        if (sketch.incrementAndGet(hash(membershipId) & (sketch.length() - 1)) == promoteThreshold) {
+            candidates.offer(new PromotionCandidate(membershipId, userId));
+        }
+    }
+
+    // 아직 DB 에 반영되지 않은 결제액
+    public long pendingOf(final long membershipId) {
+        if (!enabled) {
+            return 0L;
+        }
+        final int slot = find(membershipId);
+        return slot < 0 ? 0L : pending[0].get(slot) + pending[1].get(slot);
+    }
+
+    // 목록 ETag 용. 사용자의 핫 멤버십에 쌓인 결제액 합계
+    public long pendingOfUser(final String userId) {
+        if (!enabled) {
+            return 0L;
+        }
+        long total = 0L;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (keys.get(slot) != EMPTY && userId.equals(owners.get(slot))) {
+                total += pending[0].get(slot) + pending[1].get(slot);
+            }
+        }
+        return total;
+    }
+
+    // 조회용. 아직 반영되지 않은 결제액을 지금 등급으로 환산한 적립 포인트
+    public long pendingPointOf(final long membershipId, final MembershipTier tier) {
+        final long price = pendingOf(membershipId);
+        return price == 0 ? 0L : ratePointService.calculateAmount(price, tier);
+    }
+
+    // 삭제된 멤버십으로 더는 받지 않는다. 남은 pending 은 checkpoint 에서 0 행 갱신으로 버려진다.
+    public void retire(final long membershipId) {
+        if (!enabled) {
+            return;
+        }
+        final int slot = find(membershipId);
+        if (slot >= 0 && keys.compareAndSet(slot, membershipId, -membershipId)) {
+            retiredAt.set(slot, epoch);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${membership.hot-balance.wal-sync-interval:50ms}")
+    public void syncWal() {
+        if (!enabled) {
+            return;
+        }
+        for (int parity = 0; parity < 2; parity++) {
+            try {
+                HotBalanceWal.force(segments.get(parity));
+            } catch (IOException e) {
+                log.warn("Hot balance WAL sync failed. parity: {}", parity, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${membership.hot-balance.checkpoint-interval:1s}")
+    public synchronized void checkpoint() {
+        if (!enabled) {
+            return;
+        }
+        if (failedEpoch >= 0) {
+            // 얼려 둔 짝은 아직 아무도 쓰지 않으므로 epoch 을 넘기지 않고 다시 반영한다.
+            if (drain(failedEpoch)) {
+                finishRound(failedEpoch);
+                failedEpoch = -1L;
+            }
+            return;
+        }
+
+        final long drained = epoch;
+        final int parity = parityOf(drained);
+        segments.set(1 - parity, wal.open(drained + 1));
+        epoch = drained + 1;
+        while (inFlight[parity].get() != 0) {
+            Thread.onSpinWait();
+        }
+        HotBalanceWal.close(segments.getAndSet(parity, null));
+
+        if (drain(drained)) {
+            finishRound(drained);
+        } else {
+            failedEpoch = drained;
+        }
+    }
+
+    private boolean drain(final long drained) {
+        final int parity = parityOf(drained);
+        final List<Integer> slots = new ArrayList<>();
+        final List<HotDelta> deltas = new ArrayList<>();
+        for (int slot = 0; slot <= mask; slot++) {
+            final long delta = pending[parity].get(slot);
+            if (delta != 0) {
+                slots.add(slot);
+                deltas.add(new HotDelta(Math.abs(keys.get(slot)), owners.get(slot), delta));
+            }
+        }
+
+        try {
+            apply(deltas, drained);
+        } catch (RuntimeException e) {
+            log.warn("Hot balance checkpoint failed. segment: {}", drained, e);
+            return false;
+        }
+        for (final int slot : slots) {
+            pending[parity].set(slot, 0L);
+        }
+        wal.deleteUpTo(drained);
+        return true;
+    }
+
+    private void finishRound(final long drained) {
+        demote(drained);
+        promote(drained);
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.set(i, 0);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        checkpoint();
+        HotBalanceWal.close(segments.getAndSet(parityOf(epoch), null));
+    }
+
+    /**
+     * 잠금 순서 규칙대로 멤버십 행(id 오름차순) → lot → rollup(userId 오름차순) → outbox 순으로 반영하고,
+     * 같은 트랜잭션에서 세그먼트 번호를 기록한다. 멤버십 행은 잠금을 잡고 읽어 그 등급으로 결제액을 적립 포인트로 바꾼다.
+     */
+    private void apply(final List<HotDelta> deltas, final long segment) {
+        deltas.sort(Comparator.comparingLong(HotDelta::getMembershipId));
+        transactionTemplate.executeWithoutResult(status -> {
+            final LocalDateTime now = LocalDateTime.now();
+            final List<HotDelta> applied = new ArrayList<>();
+            final List<HotDelta> tierChanged = new ArrayList<>();
+            for (final HotDelta delta : deltas) {
+                final Membership membership =
+                        membershipRepository.findForUpdateById(delta.membershipId).orElse(null);
+                if (membership == null || !membership.getUserId().equals(delta.userId)) {
+                    log.warn(
+                            "Hot balance delta dropped. membershipId: {}, price: {}", delta.membershipId, delta.amount);
+                    continue;
+                }
+
+                final MembershipTier current = membership.getTier();
+                final long amount = ratePointService.calculateAmount(delta.amount, current);
+                final MembershipTier next = membershipTierTable.tierOf(membership.getLifetimePoint() + amount);
+                membershipRepository.accruePointWithTier(delta.membershipId, amount, next, now);
+                membershipTierTable.remember(delta.membershipId, next);
+                final HotDelta credited = new HotDelta(delta.membershipId, delta.userId, amount);
+                applied.add(credited);
+                if (next != current) {
+                    tierChanged.add(credited);
+                }
+            }
+
+            final Map<String, Long> perUser = new TreeMap<>();
+            for (final HotDelta delta : applied) {
+                pointLotService.accrue(delta.membershipId, delta.amount);
+                perUser.merge(delta.userId, delta.amount, Long::sum);
+            }
+            perUser.forEach((userId, amount) -> membershipSummaryService.apply(userId, 0, amount));
+            for (final HotDelta delta : applied) {
+                membershipOutbox.append(
+                        delta.membershipId, delta.userId, MembershipEventType.ACCUMULATED, delta.amount);
+            }
+            for (final HotDelta delta : tierChanged) {
+                membershipOutbox.append(delta.membershipId, delta.userId, MembershipEventType.TIER_CHANGED, 0);
+            }
+            hotBalanceCheckpointRepository.mark(nodeId, segment, now);
+        });
+    }
+
+    private void demote(final long drained) {
+        for (int slot = 0; slot <= mask; slot++) {
+            final long key = keys.get(slot);
+            if (key > 0 && hits.get(slot) < demoteThreshold && keys.compareAndSet(slot, key, -key)) {
+                retiredAt.set(slot, drained);
+            }
+            hits.set(slot, 0L);
+        }
+    }
+
+    private void promote(final long drained) {
+        PromotionCandidate candidate;
+        while ((candidate = candidates.poll()) != null) {
+            final int existing = find(candidate.membershipId);
+            if (existing >= 0) {
+                if (candidate.userId.equals(owners.get(existing))) {
+                    keys.compareAndSet(existing, -candidate.membershipId, candidate.membershipId);
+                }
+                continue;
+            }
+
+            final int slot = freeSlot(candidate.membershipId, drained);
+            if (slot < 0) {
+                log.warn("Hot balance store is full. membershipId: {}", candidate.membershipId);
+                return;
+            }
+            hits.set(slot, 0L);
+            owners.set(slot, candidate.userId);
+            keys.set(slot, candidate.membershipId);
+        }
+    }
+
+    private int find(final long membershipId) {
+        int slot = hash(membershipId) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            final long key = keys.get(slot);
+            if (key == EMPTY) {
+                return -1;
+            }
+            if (key == membershipId || key == -membershipId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 빈 슬롯이나, 강등된 뒤 한 epoch 이 더 지나 남은 pending 이 모두 반영된 슬롯을 재사용한다.
+     * 강등 직전에 키를 본 요청은 그다음 epoch 까지만 pending 에 더할 수 있기 때문이다.
+     */
+    private int freeSlot(final long membershipId, final long drained) {
+        int slot = hash(membershipId) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            final long key = keys.get(slot);
+            if (key == EMPTY) {
+                return slot;
+            }
+            if (key < 0
+                    && retiredAt.get(slot) < drained
+                    && pending[0].get(slot) == 0
+                    && pending[1].get(slot) == 0) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int parityOf(final long epoch) {
+        return (int) (epoch & 1);
+    }
+
+    private static int hash(final long membershipId) {
+        final long mixed = membershipId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & Integer.MAX_VALUE;
+    }
+
+    @RequiredArgsConstructor
+    private static class PromotionCandidate {
+        private final long membershipId;
+        private final String userId;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class HotDelta {
+        private final long membershipId;
+        private final String userId;
+        private final long amount;
+    }
+}
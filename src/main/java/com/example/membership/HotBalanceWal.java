@@ -0,0 +1,125 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 핫 잔액 저장소의 append-only WAL. 세그먼트 파일마다 (membershipId, delta) 16 바이트 레코드를 덧붙이고,
+ * checkpoint 가 세그먼트 단위로 DB 에 반영한 뒤 지운다. 마지막 레코드가 잘려 있으면 읽을 때 버린다.
+ * append 는 OS 페이지 캐시까지만 쓰고, 디스크 force 는 {@link #force} 를 주기적으로 불러 묶어서 한다.
+ */
+class HotBalanceWal {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".wal";
+    private static final int RECORD_BYTES = 16;
+    private static final ThreadLocal<ByteBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(RECORD_BYTES));
+
+    private final Path directory;
+
+    HotBalanceWal(final Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    FileChannel open(final long segment) {
+        try {
+            return FileChannel.open(
+                    pathOf(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void append(final FileChannel channel, final long membershipId, final long delta) throws IOException {
+        final ByteBuffer buffer = BUFFER.get();
+        buffer.clear();
+        buffer.putLong(membershipId).putLong(delta).flip();
+        // 부분 쓰기가 나도 다른 레코드와 섞이지 않도록 채널 단위로 묶는다.
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // 주기 사이에 checkpoint 가 닫은 채널은 닫을 때 force 됐으므로 건너뛴다.
+    static void force(final FileChannel channel) throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            // 닫히면서 이미 force 됐다.
+        }
+    }
+
+    static void close(final FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    List<Long> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // membershipId 오름차순으로 합산한 delta
+    Map<Long, Long> read(final long segment) {
+        final Map<Long, Long> deltas = new TreeMap<>();
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(pathOf(segment)));
+            while (buffer.remaining() >= RECORD_BYTES) {
+                deltas.merge(buffer.getLong(), buffer.getLong(), Long::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deltas;
+    }
+
+    void deleteUpTo(final long segment) {
+        for (final long existing : segments()) {
+            if (existing <= segment) {
+                try {
+                    Files.deleteIfExists(pathOf(existing));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private Path pathOf(final long segment) {
+        return directory.resolve(PREFIX + segment + SUFFIX);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.membership;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 발행된 이벤트를 메모리에 쌓아두는 sink. 테스트와 로컬 확인용.
+ */
+@Component
+@ConditionalOnProperty(name = "membership.outbox.in-memory-sink.enabled", havingValue = "true")
+public class InMemoryMembershipEventSink implements MembershipEventSink {
+
+    private final List<MembershipEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(final List<MembershipEvent> events) {
+        this.events.addAll(events);
+    }
+
+    public synchronized List<MembershipEvent> getEvents() {
+        return List.copyOf(events);
+    }
+}
@@ -6,12 +6,16 @@ import jakarta.persistence.*;
 
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import lombok.*;
 
 @Entity
 @Table
+@SQLRestriction("deleted_at is null") // tombstone 은 모든 엔티티 조회에서 제외
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -19,10 +23,11 @@ import lombok.*;
 public class Membership {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @MembershipId
     private Long id;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // 마이그레이션의 VARCHAR(20) 과 맞춘다 (native enum 타입 사용 안 함)
     @Column(nullable = false, length = 20)
     private MembershipType membershipType;
 
@@ -32,13 +37,27 @@ public class Membership {
     @Setter
     @Column(nullable = false)
     @ColumnDefault("0")
-    private Integer point;
+    private Long point;
+
+    // 등급 산정용 누적 적립 포인트
+    @Builder.Default
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long lifetimePoint = 0L;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 10)
+    @ColumnDefault("'BRONZE'")
+    private MembershipTier tier = MembershipTier.BRONZE;
 
     @CreationTimestamp
-    @Column(nullable = false, length = 20, updatable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
-    @Column(length = 20)
     private LocalDateTime updatedAt;
+
+    private LocalDateTime deletedAt;
 }
@@ -0,0 +1,26 @@
+package com.example.membership;
+
+import jakarta.validation.Valid;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+public class MembershipAdminController {
+
+    private final MembershipSearchService membershipSearchService;
+
+    @GetMapping(
+            value = "/v1/memberships",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<MembershipSearchResponse> searchMemberships(@Valid final MembershipSearchCondition condition) {
+        return ResponseEntity.ok(membershipSearchService.search(condition));
+    }
+}
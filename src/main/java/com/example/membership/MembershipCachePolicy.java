@@ -0,0 +1,23 @@
+package com.example.membership;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class MembershipCachePolicy {
+
+    private final CacheControl cacheControl;
+
+    public MembershipCachePolicy(@Value("${membership.http.cache-max-age:0s}") final Duration maxAge) {
+        // max-age 가 0 이면 매번 ETag 로 재검증하도록 no-cache 를 내려준다.
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAge).cachePrivate();
+    }
+}
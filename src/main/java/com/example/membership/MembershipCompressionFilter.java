@@ -0,0 +1,436 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.Locale;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * /api GET 응답을 gzip 으로 압축한다. 응답 앞부분을 min-response-size 만큼 풀의 버퍼에 모아 두고, 넘칠 때만
+ * (200, 압축 대상 Content-Type, 다른 Content-Encoding 없음) 압축을 시작한다. 작은 응답은 원래대로 Content-Length 를
+ * 붙여 보낸다. 압축될 수 있는 응답(압축 대상 200 과 304)의 ETag 는 실제 압축 여부와 관계없이 약한 ETag(W/) 로
+ * 바꿔, 같은 표현의 200 과 304 가 같은 validator 를 준다. If-None-Match 는 약한 비교라 304 재검증은 그대로 동작한다.
+ * SSE 는 건드리지 않고, async 응답은 아직 버퍼링 중이면 그대로 흘려보내며 이미 gzip 을 시작했으면 async 가 끝날 때
+ * gzip 을 마무리한다. 아직 버퍼링 중에 논블로킹 쓰기(setWriteListener)를 요청하면 압축 없이 원래 스트림에 넘긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "membership.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class MembershipCompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final MembershipGzipPool gzipPool;
+    private final int minResponseSize;
+    private final String[] mimeTypes;
+
+    public MembershipCompressionFilter(
+            @Value("${membership.compression.min-response-size:2KB}") final DataSize minResponseSize,
+            @Value("${membership.compression.mime-types:application/json,application/cbor}") final String[] mimeTypes,
+            @Value("${membership.compression.level:6}") final int level,
+            @Value("${membership.compression.pool-size:64}") final int poolSize) {
+        this.minResponseSize = (int) minResponseSize.toBytes();
+        this.mimeTypes = mimeTypes;
+        this.gzipPool = new MembershipGzipPool(level, poolSize, this.minResponseSize, 8192);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return !"GET".equals(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/")
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE))
+                || !acceptsGzip(request.getHeaders(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+            throws ServletException, IOException {
+        final MembershipGzipPool.Encoder encoder = gzipPool.acquire();
+        final CompressingResponse compressing = new CompressingResponse(response, encoder);
+        boolean reusable = true;
+        try {
+            filterChain.doFilter(request, compressing);
+            if (request.isAsyncStarted()) {
+                // 비동기 응답은 이후 쓰기가 요청 스레드 밖에서 일어나므로 압축하지 않고 그대로 흘려보낸다.
+                // 이미 gzip 을 시작했으면 끊을 수 없으므로 async 가 끝날 때 trailer 를 쓰고 인코더를 돌려준다.
+                reusable = compressing.passThrough();
+                if (!reusable) {
+                    request.getAsyncContext().addListener(new FinishOnComplete(compressing, encoder));
+                }
+            } else {
+                compressing.finish();
+            }
+        } finally {
+            if (reusable) {
+                gzipPool.release(encoder);
+            }
+        }
+    }
+
+    // "gzip" 또는 "*" 가 q=0 이 아닌 값으로 있으면 허용
+    static boolean acceptsGzip(final Enumeration<String> acceptEncodings) {
+        while (acceptEncodings != null && acceptEncodings.hasMoreElements()) {
+            for (final String element : acceptEncodings.nextElement().split(",")) {
+                final int semicolon = element.indexOf(';');
+                final String coding = (semicolon < 0 ? element : element.substring(0, semicolon)).trim();
+                if ((coding.equalsIgnoreCase(GZIP) || coding.equals("*"))
+                        && (semicolon < 0 || !isZeroQuality(element.substring(semicolon + 1)))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(final String parameters) {
+        final String parameter = parameters.trim();
+        if (!parameter.regionMatches(true, 0, "q=", 0, 2)) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2).trim()) == 0;
+        } catch (final NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean isCompressible(final String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        for (final String mimeType : mimeTypes) {
+            if (contentType.regionMatches(true, 0, mimeType, 0, mimeType.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class FinishOnComplete implements AsyncListener {
+
+        private final CompressingResponse compressing;
+        private final MembershipGzipPool.Encoder encoder;
+
+        private FinishOnComplete(final CompressingResponse compressing, final MembershipGzipPool.Encoder encoder) {
+            this.compressing = compressing;
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            try {
+                compressing.finish();
+            } catch (IOException e) {
+                log.debug("Gzip finish after async failed. cause: {}", e.toString());
+            } finally {
+                gzipPool.release(encoder);
+            }
+        }
+
+        // timeout/error 뒤에도 complete 가 불리므로 onComplete 에서 한 번만 마무리한다.
+        @Override
+        public void onTimeout(final AsyncEvent event) {}
+
+        @Override
+        public void onError(final AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private enum Mode {
+        BUFFERING,
+        RAW,
+        GZIP
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final MembershipGzipPool.Encoder encoder;
+        private final byte[] pending;
+        private final CompressingStream stream = new CompressingStream();
+        private Mode mode = Mode.BUFFERING;
+        private int pendingSize;
+        private long contentLength = -1;
+        private ServletOutputStream raw;
+        private PrintWriter writer;
+
+        private CompressingResponse(final HttpServletResponse response, final MembershipGzipPool.Encoder encoder) {
+            super(response);
+            this.encoder = encoder;
+            this.pending = encoder.pending();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(final int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(final long length) {
+            if (mode == Mode.RAW) {
+                super.setContentLengthLong(length);
+            } else if (mode == Mode.BUFFERING) {
+                contentLength = length;
+            }
+        }
+
+        @Override
+        public void setHeader(final String name, final String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(final String name, final String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(final String name, final int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(final String name, final int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            stream.flush();
+            if (mode == Mode.RAW) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (mode == Mode.BUFFERING) {
+                pendingSize = 0;
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (mode == Mode.BUFFERING) {
+                pendingSize = 0;
+                contentLength = -1;
+            }
+            super.reset();
+        }
+
+        private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            switch (mode) {
+                case BUFFERING -> {
+                    if (pendingSize + length <= pending.length) {
+                        System.arraycopy(bytes, offset, pending, pendingSize, length);
+                        pendingSize += length;
+                        return;
+                    }
+                    if (canCompress()) {
+                        startGzip();
+                    } else {
+                        startRaw();
+                    }
+                    write(bytes, offset, length);
+                }
+                case RAW -> raw.write(bytes, offset, length);
+                case GZIP -> encoder.write(bytes, offset, length, raw);
+            }
+        }
+
+        private void flush() throws IOException {
+            // 압축 대상이 아닌 응답이 중간에 flush 하면 스트리밍으로 보고 바로 내보낸다.
+            if (mode == Mode.BUFFERING && !isCompressible(getContentType())) {
+                startRaw();
+            }
+            if (mode == Mode.RAW) {
+                raw.flush();
+            }
+        }
+
+        private boolean canCompress() {
+            return getStatus() == SC_OK
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                    && isCompressible(getContentType());
+        }
+
+        // 이 요청에 gzip 으로 나갈 수 있는 표현이면 true. 304 는 본문이 없어도 같은 표현의 validator 다.
+        private boolean isGzipEligible() {
+            if (getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+                return false;
+            }
+            return getStatus() == SC_NOT_MODIFIED || (getStatus() == SC_OK && isCompressible(getContentType()));
+        }
+
+        private void weakenETag() {
+            final String eTag = getHeader(HttpHeaders.ETAG);
+            if (eTag != null && eTag.startsWith("\"")) {
+                super.setHeader(HttpHeaders.ETAG, "W/" + eTag);
+            }
+        }
+
+        private void startGzip() throws IOException {
+            weakenETag();
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            addVary();
+            raw = super.getOutputStream();
+            mode = Mode.GZIP;
+            encoder.start(raw);
+            encoder.write(pending, 0, pendingSize, raw);
+        }
+
+        private void startRaw() throws IOException {
+            final boolean eligible = isGzipEligible();
+            if (eligible || isCompressible(getContentType())) {
+                addVary();
+            }
+            if (eligible) {
+                weakenETag();
+            }
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            raw = super.getOutputStream();
+            mode = Mode.RAW;
+            raw.write(pending, 0, pendingSize);
+        }
+
+        private void addVary() {
+            for (final String vary : getHeaders(HttpHeaders.VARY)) {
+                if (vary.toLowerCase(Locale.ROOT).contains("accept-encoding")) {
+                    return;
+                }
+            }
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        // 비동기 응답용. 이후 쓰기는 풀 버퍼를 거치지 않으므로 인코더를 돌려줘도 되는지 알려준다.
+        private boolean passThrough() throws IOException {
+            if (mode == Mode.BUFFERING) {
+                startRaw();
+            }
+            return mode == Mode.RAW;
+        }
+
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            switch (mode) {
+                case BUFFERING -> {
+                    if (pendingSize > 0) {
+                        contentLength = pendingSize;
+                    }
+                    startRaw();
+                }
+                case GZIP -> encoder.finish(raw);
+                case RAW -> {}
+            }
+        }
+
+        private final class CompressingStream extends ServletOutputStream {
+
+            private final byte[] single = new byte[1];
+
+            @Override
+            public void write(final int b) throws IOException {
+                single[0] = (byte) b;
+                CompressingResponse.this.write(single, 0, 1);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                CompressingResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                CompressingResponse.this.flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                return mode != Mode.RAW || raw.isReady();
+            }
+
+            // 논블로킹 쓰기는 요청 스레드 밖에서 이어지므로 압축하지 않고 원래 스트림에 넘긴다.
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                if (mode == Mode.GZIP) {
+                    throw new IllegalStateException("Non-blocking write requested after gzip started");
+                }
+                if (mode == Mode.BUFFERING) {
+                    try {
+                        startRaw();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                raw.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -6,19 +6,25 @@ import java.util.List;
 
 import com.example.membership.ValidationGroups.MembershipAccumulateMarker;
 import com.example.membership.ValidationGroups.MembershipAddMarker;
+import com.example.membership.ValidationGroups.MembershipRedeemMarker;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,8 +34,18 @@ import lombok.RequiredArgsConstructor;
 public class MembershipController {
 
     private final MembershipService membershipService;
+    private final MembershipCachePolicy membershipCachePolicy;
+    private final MembershipRequestValidator membershipRequestValidator;
 
-    @PostMapping("/v1/memberships")
+    // MembershipRequest 는 리플렉션 기반 Bean Validation 대신 그룹별 규칙을 코드로 검사한다.
+    @InitBinder("membershipRequest")
+    void initMembershipRequestBinder(final WebDataBinder binder) {
+        binder.setValidator(membershipRequestValidator);
+    }
+
+    @PostMapping(
+            value = "/v1/memberships",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<MembershipDto> addMembership(
             @RequestHeader(USER_ID_HEADER) final String userId,
             @RequestBody @Validated(MembershipAddMarker.class) final MembershipRequest membershipRequest) {
@@ -40,16 +56,50 @@ public class MembershipController {
         return ResponseEntity.status(HttpStatus.CREATED).body(membershipDto);
     }
 
-    @GetMapping("/v1/memberships")
+    @GetMapping(
+            value = "/v1/memberships",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<List<MembershipDetailResponse>> getMembershipList(
+            @RequestHeader(USER_ID_HEADER) final String userId, final WebRequest webRequest) {
+        final String eTag = MembershipETags.forRepresentation(
+                membershipService.getMembershipListETag(userId), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(membershipCachePolicy.getCacheControl())
+                .body(membershipService.getMembershipList(userId));
+    }
+
+    @GetMapping(
+            value = "/v1/memberships/summary",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<MembershipSummaryResponse> getMembershipSummary(
             @RequestHeader(USER_ID_HEADER) final String userId) {
-        return ResponseEntity.ok(membershipService.getMembershipList(userId));
+        return ResponseEntity.ok(membershipService.getMembershipSummary(userId));
     }
 
-    @GetMapping("/v1/memberships/{id}")
+    @GetMapping(
+            value = "/v1/memberships/{id}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<MembershipDetailResponse> getMembership(
-            @RequestHeader(USER_ID_HEADER) final String userId, @PathVariable("id") final Long membershipId) {
-        return ResponseEntity.ok(membershipService.getMembership(membershipId, userId));
+            @RequestHeader(USER_ID_HEADER) final String userId,
+            @PathVariable("id") final Long membershipId,
+            final WebRequest webRequest) {
+        final String eTag = MembershipETags.forRepresentation(
+                membershipService.getMembershipETag(membershipId, userId), webRequest.getHeader(HttpHeaders.ACCEPT));
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(membershipCachePolicy.getCacheControl())
+                .body(membershipService.getMembership(membershipId, userId));
     }
 
     @DeleteMapping("/v1/memberships/{id}")
@@ -60,7 +110,9 @@ public class MembershipController {
         return ResponseEntity.noContent().build();
     }
 
-    @PostMapping("/v1/memberships/{id}/accumulate")
+    @PostMapping(
+            value = "/v1/memberships/{id}/accumulate",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<Void> accumulateMembershipPoint(
             @RequestHeader(USER_ID_HEADER) final String userId,
             @PathVariable("id") final Long id,
@@ -68,4 +120,35 @@ public class MembershipController {
         membershipService.accumulateMembershipPoint(id, userId, membershipRequest.getPoint());
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping(
+            value = "/v1/memberships/{id}/redeem",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<Void> redeemMembershipPoint(
+            @RequestHeader(USER_ID_HEADER) final String userId,
+            @PathVariable("id") final Long id,
+            @RequestBody @Validated(MembershipRedeemMarker.class) final MembershipRequest membershipRequest) {
+        membershipService.redeemMembershipPoint(id, userId, membershipRequest.getPoint());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(
+            value = "/v1/memberships/{id}/transfer",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<Void> transferMembershipPoint(
+            @RequestHeader(USER_ID_HEADER) final String userId,
+            @PathVariable("id") final Long id,
+            @RequestBody @Valid final MembershipTransferRequest transferRequest) {
+        membershipService.transferMembershipPoint(
+                id, transferRequest.getTargetMembershipId(), userId, transferRequest.getPoint());
+        return ResponseEntity.noContent().build();
+    }
+
+    private <T> ResponseEntity<T> notModified(final String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(membershipCachePolicy.getCacheControl())
+                .build();
+    }
 }
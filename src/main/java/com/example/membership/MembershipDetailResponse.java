@@ -2,6 +2,10 @@ package com.example.membership;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -10,8 +14,20 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Builder
 public class MembershipDetailResponse {
+    @JsonSerialize(using = ToStringSerializer.class)
     private final Long id;
     private final MembershipType membershipType;
     private final LocalDateTime createdAt;
-    private final Integer point;
+    private final Long point;
+    private final MembershipTier tier;
+
+    // 제휴사 정보는 목록 조회에서만 채운다.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String partnerTier;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long partnerPoint;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Boolean partnerDegraded;
 }
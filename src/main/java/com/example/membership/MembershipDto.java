@@ -1,5 +1,8 @@
 package com.example.membership;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 @Builder
 @RequiredArgsConstructor
 public class MembershipDto {
+    // snowflake id 는 2^53 을 넘으므로 JavaScript 클라이언트가 자리를 잃지 않게 문자열로 내보낸다.
+    @JsonSerialize(using = ToStringSerializer.class)
     private final Long id;
     private final MembershipType membershipType;
 }
@@ -0,0 +1,67 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MembershipETags {
+
+    public static String strong(final Number... parts) {
+        final StringBuilder builder = new StringBuilder(64).append('"');
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                builder.append('-');
+            }
+            builder.append(parts[i] == null ? "0" : Long.toHexString(parts[i].longValue()));
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * 조회 API 는 같은 버전을 JSON 과 CBOR 로 내려주는데 강한 ETag 는 표현마다 달라야 하므로, Accept 로 CBOR 가
+     * 선택되는 요청에만 접미사를 붙인다. 선택 규칙은 produces 순서(JSON 먼저)를 따르는 Spring 협상과 같다.
+     */
+    public static String forRepresentation(final String eTag, final String accept) {
+        return prefersCbor(accept) ? eTag.substring(0, eTag.length() - 1) + "-cbor\"" : eTag;
+    }
+
+    private static boolean prefersCbor(final String accept) {
+        if (accept == null) {
+            return false;
+        }
+        final List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (final MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Long epochNanos(final LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
@@ -11,6 +11,10 @@ public enum MembershipErrorResult {
     NOT_MEMBERSHIP_OWNER(HttpStatus.BAD_REQUEST, "Not a membership owner"),
     MEMBERSHIP_NOT_FOUND(HttpStatus.NOT_FOUND, "Membership Not found"),
     DUPLICATED_MEMBERSHIP_REGISTER(HttpStatus.BAD_REQUEST, "Duplicated Membership Register Request"),
+    INSUFFICIENT_POINT(HttpStatus.BAD_REQUEST, "Insufficient Membership Point"),
+    INVALID_TRANSFER_TARGET(HttpStatus.BAD_REQUEST, "Invalid Transfer Target"),
+    PERSISTENCE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "Membership Storage Unavailable"),
+    USER_REQUEST_BUSY(HttpStatus.TOO_MANY_REQUESTS, "Too Many Concurrent Requests For User"),
     UNKNOWN_EXCEPTION(HttpStatus.INTERNAL_SERVER_ERROR, "Unknown Exception"),
     ;
 
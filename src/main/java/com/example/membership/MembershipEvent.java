@@ -0,0 +1,51 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.*;
+
+@Entity
+@Table(name = "membership_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class MembershipEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long membershipId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private MembershipEventType eventType;
+
+    @Column(nullable = false)
+    private Long pointDelta;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // relay 가 발행할 때 붙이는 순번. 커밋 순서와 무관하게 발행 순서대로 증가한다.
+    private Long relaySeq;
+
+    private LocalDateTime relayedAt;
+}
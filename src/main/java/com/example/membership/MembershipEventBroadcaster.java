@@ -0,0 +1,123 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 발행된 outbox 이벤트를 이 인스턴스의 SSE 구독자에게 사용자 단위로 흘려보낸다. relay 가 어느 인스턴스에서 돌았든
+ * outbox 테이블의 발행 순번을 인스턴스별 커서로 읽으므로 모든 인스턴스의 구독자가 같은 이벤트를 받는다.
+ * 전송은 구독마다 가상 스레드가 맡아 느린 클라이언트가 다른 구독자나 폴링을 막지 않고, 큐가 넘치면 그 구독을 끊는다.
+ */
+@Slf4j
+@Component
+public class MembershipEventBroadcaster {
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final MembershipEventRepository membershipEventRepository;
+    private final long timeoutMillis;
+    private final int batchSize;
+    private final int queueCapacity;
+    private long cursor = -1L;
+
+    public MembershipEventBroadcaster(
+            final MembershipEventRepository membershipEventRepository,
+            @Value("${membership.outbox.sse-timeout:30m}") final Duration timeout,
+            @Value("${membership.outbox.batch-size:500}") final int batchSize,
+            @Value("${membership.outbox.sse-queue-capacity:1000}") final int queueCapacity) {
+        this.membershipEventRepository = membershipEventRepository;
+        this.timeoutMillis = timeout.toMillis();
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public SseEmitter subscribe(final String userId) {
+        final SseEmitter emitter = new SseEmitter(timeoutMillis);
+        final Subscription subscription = new Subscription(userId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        subscription.sender = Thread.ofVirtual().name("membership-sse").start(() -> send(subscription));
+        subscriptions.add(subscription);
+
+        final Runnable close = () -> {
+            subscriptions.remove(subscription);
+            subscription.sender.interrupt();
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(e -> close.run());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${membership.outbox.sse-poll-interval:500ms}")
+    public synchronized void poll() {
+        if (cursor < 0 || subscriptions.isEmpty()) {
+            // 구독자가 없으면 이벤트를 읽지 않고 커서만 앞으로 옮긴다.
+            cursor = membershipEventRepository.findMaxRelaySeq();
+            return;
+        }
+        while (true) {
+            final List<MembershipEvent> events = membershipEventRepository
+                    .findAllByRelaySeqGreaterThanOrderByRelaySeqAsc(cursor, PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+            for (final MembershipEvent event : events) {
+                dispatch(event);
+            }
+            cursor = events.get(events.size() - 1).getRelaySeq();
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(final MembershipEvent event) {
+        for (final Subscription subscription : subscriptions) {
+            if (subscription.userId.equals(event.getUserId()) && !subscription.queue.offer(event)) {
+                // emitter 는 전송 중에 잠겨 있을 수 있으므로 닫기도 전송 스레드에 맡긴다.
+                log.warn("SSE subscriber is too slow, closing. userId: {}", subscription.userId);
+                subscriptions.remove(subscription);
+                subscription.sender.interrupt();
+            }
+        }
+    }
+
+    private void send(final Subscription subscription) {
+        try {
+            while (true) {
+                final MembershipEvent event = subscription.queue.take();
+                subscription.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name(event.getEventType().name())
+                        .data(event));
+            }
+        } catch (InterruptedException e) {
+            subscription.emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            subscriptions.remove(subscription);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @RequiredArgsConstructor
+    private static class Subscription {
+        private final String userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<MembershipEvent> queue;
+        private volatile Thread sender;
+    }
+}
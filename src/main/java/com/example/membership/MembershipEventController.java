@@ -0,0 +1,26 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class MembershipEventController {
+
+    private final MembershipEventBroadcaster membershipEventBroadcaster;
+
+    // 폴링 대신 변경 이벤트를 SSE 로 구독한다.
+    @GetMapping(value = "/v1/memberships/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMembershipEvents(@RequestHeader(USER_ID_HEADER) final String userId) {
+        return membershipEventBroadcaster.subscribe(userId);
+    }
+}
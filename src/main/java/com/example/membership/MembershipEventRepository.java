@@ -0,0 +1,59 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MembershipEventRepository extends JpaRepository<MembershipEvent, Long> {
+
+    // 다른 인스턴스가 relay 중이면 기다리지 않고 빈 목록을 돌려받는다.
+    @Query(
+            value = "select name from membership_outbox_relay_lock where name = 'relay' for update skip locked",
+            nativeQuery = true)
+    List<String> lockRelay();
+
+    List<MembershipEvent> findAllByRelaySeqIsNullOrderByIdAsc(final Pageable pageable);
+
+    long countByRelaySeqIsNull();
+
+    @Query("select coalesce(max(e.relaySeq), 0) from MembershipEvent e")
+    long findMaxRelaySeq();
+
+    List<MembershipEvent> findAllByRelaySeqGreaterThanOrderByRelaySeqAsc(final long relaySeq, final Pageable pageable);
+
+    // 배치 안에서는 id 순서 그대로, 배치끼리는 앞 배치의 마지막 순번 뒤로 이어지도록 offset 을 더한다.
+    @Modifying
+    @Query("update MembershipEvent e set e.relaySeq = e.id + :offset, e.relayedAt = :now where e.id in :ids")
+    int markRelayed(
+            @Param("ids") final List<Long> ids,
+            @Param("offset") final long offset,
+            @Param("now") final LocalDateTime now);
+
+    @Modifying
+    @Query("delete from MembershipEvent e where e.relayedAt < :before")
+    int deleteRelayedBefore(@Param("before") final LocalDateTime before);
+
+    @Modifying
+    @Query(
+            value = "insert into membership_outbox (membership_id, user_id, event_type, point_delta, created_at) "
+                    + "values (:membershipId, :userId, :eventType, :pointDelta, :now)",
+            nativeQuery = true)
+    int append(
+            @Param("membershipId") final Long membershipId,
+            @Param("userId") final String userId,
+            @Param("eventType") final String eventType,
+            @Param("pointDelta") final long pointDelta,
+            @Param("now") final LocalDateTime now);
+
+    @Modifying
+    @Query(
+            value = "insert into membership_outbox (membership_id, user_id, event_type, point_delta, created_at) "
+                    + "select m.id, m.user_id, 'REMOVED', -m.point, :now from membership m where m.id = :membershipId",
+            nativeQuery = true)
+    int appendRemoval(@Param("membershipId") final Long membershipId, @Param("now") final LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package com.example.membership;
+
+import java.util.List;
+
+/**
+ * outbox relay 가 이벤트를 내보내는 대상. events 는 outbox id 오름차순이며, 예외를 던지면 같은 배치를 다시 받는다.
+ */
+public interface MembershipEventSink {
+
+    void publish(final List<MembershipEvent> events);
+}
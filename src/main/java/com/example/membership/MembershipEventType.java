@@ -0,0 +1,13 @@
+package com.example.membership;
+
+public enum MembershipEventType {
+    ADDED,
+    REMOVED,
+    ACCUMULATED,
+    REDEEMED,
+    TRANSFERRED_OUT,
+    TRANSFERRED_IN,
+    EXPIRED,
+    RECONCILED,
+    TIER_CHANGED,
+}
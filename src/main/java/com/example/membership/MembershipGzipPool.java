@@ -0,0 +1,103 @@
+package com.example.membership;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip 인코더 풀. GZIPOutputStream 은 응답마다 Deflater(네이티브 zlib 상태 수백 KB)와 버퍼를 새로 만들고 close 때
+ * 버리므로, 여기서는 Deflater/CRC32/버퍼를 묶어 재사용하고 gzip 헤더와 트레일러는 직접 쓴다.
+ * 풀이 비면 새로 만들고, 반납할 자리가 없으면 Deflater 를 바로 end 해 네이티브 메모리를 돌려준다.
+ */
+public class MembershipGzipPool {
+
+    // magic, CM=deflate, FLG=0, MTIME=0, XFL=0, OS=unknown
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final BlockingQueue<Encoder> pool;
+    private final int level;
+    private final int pendingSize;
+    private final int bufferSize;
+
+    public MembershipGzipPool(final int level, final int poolSize, final int pendingSize, final int bufferSize) {
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.level = level;
+        this.pendingSize = pendingSize;
+        this.bufferSize = bufferSize;
+    }
+
+    public Encoder acquire() {
+        final Encoder encoder = pool.poll();
+        return encoder != null ? encoder : new Encoder(new Deflater(level, true), pendingSize, bufferSize);
+    }
+
+    public void release(final Encoder encoder) {
+        encoder.deflater.reset();
+        encoder.crc.reset();
+        if (!pool.offer(encoder)) {
+            encoder.deflater.end();
+        }
+    }
+
+    public static final class Encoder {
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        // 압축 여부를 정하기 전까지 응답 앞부분을 모아 두는 버퍼
+        private final byte[] pending;
+        private final byte[] buffer;
+
+        private Encoder(final Deflater deflater, final int pendingSize, final int bufferSize) {
+            this.deflater = deflater;
+            this.pending = new byte[pendingSize];
+            this.buffer = new byte[Math.max(8, bufferSize)];
+        }
+
+        byte[] pending() {
+            return pending;
+        }
+
+        public void start(final OutputStream out) throws IOException {
+            out.write(HEADER);
+        }
+
+        public void write(final byte[] bytes, final int offset, final int length, final OutputStream out)
+                throws IOException {
+            if (length == 0) {
+                return;
+            }
+            crc.update(bytes, offset, length);
+            deflater.setInput(bytes, offset, length);
+            while (!deflater.needsInput()) {
+                drain(out);
+            }
+        }
+
+        public void finish(final OutputStream out) throws IOException {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(out);
+            }
+            // 트레일러: CRC32, 원본 길이 mod 2^32 (little endian)
+            writeIntLE(buffer, 0, (int) crc.getValue());
+            writeIntLE(buffer, 4, (int) deflater.getBytesRead());
+            out.write(buffer, 0, 8);
+        }
+
+        private void drain(final OutputStream out) throws IOException {
+            final int written = deflater.deflate(buffer, 0, buffer.length, Deflater.NO_FLUSH);
+            if (written > 0) {
+                out.write(buffer, 0, written);
+            }
+        }
+
+        private static void writeIntLE(final byte[] target, final int offset, final int value) {
+            target[offset] = (byte) value;
+            target[offset + 1] = (byte) (value >>> 8);
+            target[offset + 2] = (byte) (value >>> 16);
+            target[offset + 3] = (byte) (value >>> 24);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.membership;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// insert 전에 MembershipIdGenerator 로 id 를 채운다. IDENTITY 와 달리 persist 가 insert 를 바로 실행하지 않는다.
+@IdGeneratorType(MembershipIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface MembershipId {
+}
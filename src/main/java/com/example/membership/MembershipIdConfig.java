@@ -0,0 +1,49 @@
+package com.example.membership;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class MembershipIdConfig {
+
+    @Bean
+    public MembershipIdGenerator membershipIdGenerator(
+            @Value("${membership.id.node-id:}") final String nodeId,
+            @Value("${membership.id.max-clock-backward:50ms}") final Duration maxClockBackward,
+            final Environment environment) {
+        return new MembershipIdGenerator(resolveNodeId(nodeId, environment), maxClockBackward);
+    }
+
+    /**
+     * 노드끼리 node-id 가 겹치면 id 가 중복되므로, local/test 프로필이 아니면 node-id 없이 기동하지 않는다.
+     * 프로필을 주지 않은 실행은 spring.profiles.default 로 local 이다.
+     */
+    static int resolveNodeId(final String nodeId, final Environment environment) {
+        if (nodeId != null && !nodeId.isBlank()) {
+            return Integer.parseInt(nodeId.trim());
+        }
+        if (environment.acceptsProfiles(Profiles.of("local | test"))) {
+            log.info("Membership id node-id is not set, using 0 for local/test.");
+            return 0;
+        }
+        throw new IllegalStateException("membership.id.node-id (MEMBERSHIP_NODE_ID) must be set outside local/test "
+                + "profiles. active profiles: " + Arrays.toString(environment.getActiveProfiles()));
+    }
+
+    // MembershipIdentifierGenerator 가 같은 인스턴스를 쓰도록 Hibernate 설정으로 넘긴다.
+    @Bean
+    public HibernatePropertiesCustomizer membershipIdGeneratorCustomizer(
+            final MembershipIdGenerator membershipIdGenerator) {
+        return properties -> properties.put(MembershipIdGenerator.class.getName(), membershipIdGenerator);
+    }
+}
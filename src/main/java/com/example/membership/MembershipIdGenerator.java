@@ -0,0 +1,72 @@
+package com.example.membership;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake 형식 멤버십 id. 부호 비트 0 + 41비트 epoch(2024-01-01 UTC) 기준 ms + 10비트 노드 + 12비트 순번이다.
+ * 한 노드 안에서는 단조 증가하고 노드가 다르면 겹치지 않으므로, 노드(리전)마다 node-id 만 나눠 주면 DB 왕복 없이
+ * 어디서나 만들 수 있다. 시각이 앞자리라 B-tree 에는 대체로 오른쪽 끝에 붙는다.
+ *
+ * <p>상태는 (ms, 순번) 하나를 CAS 로 갱신한다. 같은 ms 에 순번이 넘치거나 시계가 뒤로 가면 다음 ms 를 미리 당겨 쓰며,
+ * 벽시계보다 max-clock-backward 이상 앞서게 되면 중복 위험 대신 실패를 택해 IllegalStateException 을 던진다.
+ * JSON 숫자는 2^53 을 넘으므로 JavaScript 클라이언트는 문자열/BigInt 로 다뤄야 한다.
+ */
+public class MembershipIdGenerator {
+
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+    // (epoch 기준 ms << SEQUENCE_BITS) | 순번. 마지막으로 발급한 값
+    private final AtomicLong last = new AtomicLong();
+
+    public MembershipIdGenerator(final int nodeId, final Duration maxClockBackward) {
+        this(nodeId, maxClockBackward, System::currentTimeMillis);
+    }
+
+    MembershipIdGenerator(final int nodeId, final Duration maxClockBackward, final LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Membership id node must be within 0.." + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.maxBackwardMillis = maxClockBackward.toMillis();
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            final long previous = last.get();
+            final long now = clock.getAsLong() - EPOCH_MILLIS;
+            final long lastMillis = previous >>> SEQUENCE_BITS;
+            final long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                if (lastMillis - now > maxBackwardMillis) {
+                    throw new IllegalStateException("Clock moved backwards by " + (lastMillis - now)
+                            + "ms, refusing to generate membership id");
+                }
+                // 순번이 넘치면 ms 자리로 올림된다.
+                next = previous + 1;
+            }
+            if (last.compareAndSet(previous, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    static long epochMillisOf(final long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    static int nodeOf(final long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
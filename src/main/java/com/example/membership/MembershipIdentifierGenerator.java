@@ -0,0 +1,48 @@
+package com.example.membership;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/**
+ * {@link MembershipId} 의 Hibernate 쪽 구현. Hibernate 가 직접 만드는 객체라 스프링 빈인 MembershipIdGenerator 는
+ * MembershipIdConfig 가 Hibernate 설정 값으로 넘겨준다. 설정이 없으면 node-id 검사를 건너뛴 것이므로 기동하지 않는다.
+ * (JPA 슬라이스 테스트는 MembershipIdConfig 를 @Import 한다)
+ */
+public class MembershipIdentifierGenerator implements BeforeExecutionGenerator {
+
+    private final MembershipIdGenerator generator;
+
+    public MembershipIdentifierGenerator(
+            final MembershipId config, final Member member, final CustomIdGeneratorCreationContext context) {
+        final Object configured = context.getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .get(MembershipIdGenerator.class.getName());
+        if (!(configured instanceof MembershipIdGenerator membershipIdGenerator)) {
+            throw new IllegalStateException(MembershipIdGenerator.class.getName()
+                    + " is not configured. MembershipIdConfig must be part of the application context.");
+        }
+        this.generator = membershipIdGenerator;
+    }
+
+    @Override
+    public Object generate(
+            final SharedSessionContractImplementor session,
+            final Object owner,
+            final Object currentValue,
+            final EventType eventType) {
+        return generator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
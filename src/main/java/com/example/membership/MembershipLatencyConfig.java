@@ -0,0 +1,25 @@
+package com.example.membership;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SQL 과 bind 값은 MembershipStatementListener 가 datasource-proxy 에서 모은다.
+ * membership.slo.enabled=false 면 인터셉터, 리포지토리 aspect, 리스너가 모두 빠진다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MembershipLatencyConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MembershipLatencyInterceptor> membershipLatencyInterceptor;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        membershipLatencyInterceptor.ifAvailable(
+                interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/v1/**"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MembershipController 라우트(핸들러 메서드)별 지연을 기록한다. 요청 스레드에 수집 구간을 열어 두므로 요청 안의
+ * 리포지토리 호출과 SQL 이 같은 구간에 모인다.
+ */
+@Component
+@ConditionalOnProperty(name = "membership.slo.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MembershipLatencyInterceptor implements HandlerInterceptor {
+
+    private static final String MARK = MembershipLatencyInterceptor.class.getName() + ".MARK";
+
+    private final MembershipLatencyTracker membershipLatencyTracker;
+    private final Map<Method, String> operations = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType() == MembershipController.class) {
+            request.setAttribute(
+                    MARK,
+                    membershipLatencyTracker.begin(
+                            operations.computeIfAbsent(
+                                    handlerMethod.getMethod(), method -> "MembershipController#" + method.getName()),
+                            request.getHeader(USER_ID_HEADER),
+                            null));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler,
+            final Exception ex) {
+        if (request.getAttribute(MARK) instanceof MembershipLatencyTracker.Mark mark) {
+            request.removeAttribute(MARK);
+            membershipLatencyTracker.end(mark);
+        }
+    }
+}
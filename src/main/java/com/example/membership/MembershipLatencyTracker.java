@@ -0,0 +1,266 @@
+package com.example.membership;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MembershipController 라우트와 MembershipRepository 메서드별 지연을 프로세스 안의 HdrHistogram 에 모은다.
+ * SLO 를 넘긴 호출만 느린 호출 로그로 남기며, 그때 같은 스레드에서 JDBC 로 실행된 SQL 과 실제 bind 값,
+ * 마스킹한 사용자 id 를 함께 남긴다. 정상 호출은 히스토그램 기록과 참조 저장만 하고 문자열을 만들지 않는다.
+ *
+ * <p>SLO 는 membership.slo.thresholds 에 "MembershipController#addMembership=100ms" 처럼 메서드 단위나
+ * "MembershipRepository=50ms" 처럼 클래스 단위로 주고, 없으면 default-threshold 를 쓴다.
+ */
+@Slf4j
+@Component
+public class MembershipLatencyTracker {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int MAX_BIND_LENGTH = 200;
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    private final Map<String, OperationLatency> operations = new ConcurrentHashMap<>();
+    private final long defaultThresholdNanos;
+    private final Map<String, Long> thresholdNanos = new HashMap<>();
+    private final int slowLogSize;
+    private final int maxStatements;
+    // 가장 느린 slowLogSize 개. SLO 를 넘긴 호출만 들어오므로 잠금 비용은 이상치에만 든다.
+    private final PriorityQueue<MembershipSloReport.SlowOperation> slowest =
+            new PriorityQueue<>(Comparator.comparingDouble(MembershipSloReport.SlowOperation::getElapsedMillis));
+
+    public MembershipLatencyTracker(
+            @Value("${membership.slo.default-threshold:200ms}") final Duration defaultThreshold,
+            @Value("${membership.slo.thresholds:}") final String[] thresholds,
+            @Value("${membership.slo.slow-log-size:20}") final int slowLogSize,
+            @Value("${membership.slo.max-captured-statements:50}") final int maxStatements) {
+        this.defaultThresholdNanos = defaultThreshold.toNanos();
+        for (final String threshold : thresholds) {
+            if (threshold.isBlank()) {
+                continue;
+            }
+            final int separator = threshold.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("SLO threshold must be <operation>=<duration>: " + threshold);
+            }
+            thresholdNanos.put(
+                    threshold.substring(0, separator).trim(),
+                    DurationStyle.detectAndParse(threshold.substring(separator + 1).trim()).toNanos());
+        }
+        this.slowLogSize = slowLogSize;
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * 호출 구간을 연다. 스레드에 열린 수집 구간이 없으면 새로 열고 end 에서 닫는다. 이미 열려 있으면(요청 안의 리포지토리 호출)
+     * 같은 수집 구간을 공유하므로 느린 리포지토리 호출도 그 사이 실행된 SQL 만 골라 남길 수 있다.
+     */
+    public Mark begin(final String operation, final String userId, final Object[] args) {
+        return begin(operation, userId, args, null);
+    }
+
+    /**
+     * redacted[i] 가 true 인 인자 값은 요청 사용자와 관계없이 이 구간의 bind 값에서 마스킹한다.
+     */
+    public Mark begin(final String operation, final String userId, final Object[] args, final boolean[] redacted) {
+        Capture capture = CAPTURE.get();
+        final boolean owner = capture == null;
+        if (owner) {
+            capture = new Capture(userId);
+            CAPTURE.set(capture);
+        }
+        // 마스킹할 인자 값은 이후 이 구간의 bind 값에서 가린다.
+        if (args != null && redacted != null) {
+            for (int i = 0; i < args.length && i < redacted.length; i++) {
+                if (redacted[i] && args[i] != null && capture.redactedValues.size() < maxStatements) {
+                    capture.redactedValues.add(args[i]);
+                }
+            }
+        }
+        return new Mark(operation, capture, owner, capture.statements.size(), System.nanoTime());
+    }
+
+    public void end(final Mark mark) {
+        end(mark, System.nanoTime() - mark.startNanos);
+    }
+
+    void end(final Mark mark, final long elapsedNanos) {
+        try {
+            final OperationLatency latency = operations.computeIfAbsent(mark.operation, this::newLatency);
+            latency.histogram.recordValue(
+                    Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+            if (elapsedNanos > latency.thresholdNanos) {
+                latency.breaches.increment();
+                reportSlow(mark, elapsedNanos, latency.thresholdNanos);
+            }
+        } finally {
+            if (mark.owner) {
+                CAPTURE.remove();
+            }
+        }
+    }
+
+    // 수집 구간 밖(스케줄러의 JDBC 등)에서 실행된 SQL 은 버리므로, 호출 전에 확인해 bind 값 복사를 건너뛴다.
+    public boolean capturing() {
+        final Capture capture = CAPTURE.get();
+        return capture != null && capture.statements.size() < maxStatements;
+    }
+
+    // MembershipStatementListener 에서 부른다. binds 는 파라미터 순서대로 복사한 값이다.
+    public void statement(final String sql, final Object[] binds) {
+        final Capture capture = CAPTURE.get();
+        if (capture != null && capture.statements.size() < maxStatements) {
+            capture.statements.add(new Statement(sql, binds));
+        }
+    }
+
+    public MembershipSloReport report() {
+        final List<MembershipSloReport.OperationLatencySnapshot> snapshots = new ArrayList<>(operations.size());
+        operations.forEach((operation, latency) -> {
+            final Histogram histogram = latency.histogram.copy();
+            snapshots.add(MembershipSloReport.OperationLatencySnapshot.builder()
+                    .operation(operation)
+                    .count(histogram.getTotalCount())
+                    .p50Millis(millisOf(histogram.getValueAtPercentile(50)))
+                    .p90Millis(millisOf(histogram.getValueAtPercentile(90)))
+                    .p99Millis(millisOf(histogram.getValueAtPercentile(99)))
+                    .p999Millis(millisOf(histogram.getValueAtPercentile(99.9)))
+                    .maxMillis(millisOf(histogram.getMaxValue()))
+                    .sloMillis(TimeUnit.NANOSECONDS.toMillis(latency.thresholdNanos))
+                    .breaches(latency.breaches.sum())
+                    .build());
+        });
+        snapshots.sort(Comparator.comparing(MembershipSloReport.OperationLatencySnapshot::getOperation));
+
+        final List<MembershipSloReport.SlowOperation> slow;
+        synchronized (slowest) {
+            slow = new ArrayList<>(slowest);
+        }
+        slow.sort(Comparator.comparingDouble(MembershipSloReport.SlowOperation::getElapsedMillis).reversed());
+        return MembershipSloReport.builder().operations(snapshots).slowest(slow).build();
+    }
+
+    long thresholdNanosOf(final String operation) {
+        final Long exact = thresholdNanos.get(operation);
+        if (exact != null) {
+            return exact;
+        }
+        final int separator = operation.indexOf('#');
+        final Long type = separator > 0 ? thresholdNanos.get(operation.substring(0, separator)) : null;
+        return type != null ? type : defaultThresholdNanos;
+    }
+
+    private OperationLatency newLatency(final String operation) {
+        return new OperationLatency(thresholdNanosOf(operation));
+    }
+
+    private void reportSlow(final Mark mark, final long elapsedNanos, final long thresholdNanos) {
+        final Capture capture = mark.capture;
+        final List<String> statements = new ArrayList<>();
+        final List<String> binds = new ArrayList<>();
+        for (final Statement statement : capture.statements.subList(mark.statementFrom, capture.statements.size())) {
+            statements.add(statement.sql);
+            binds.add(bindsOf(statement.binds, capture));
+        }
+        final MembershipSloReport.SlowOperation slow = MembershipSloReport.SlowOperation.builder()
+                .operation(mark.operation)
+                .elapsedMillis(elapsedNanos / 1_000_000.0)
+                .sloMillis(TimeUnit.NANOSECONDS.toMillis(thresholdNanos))
+                .userId(redact(capture.userId))
+                .statements(statements)
+                .binds(binds)
+                .occurredAt(LocalDateTime.now())
+                .build();
+
+        log.warn(
+                "Slow operation. operation: {}, elapsed: {}ms, slo: {}ms, userId: {}, statements: {}, binds: {}",
+                slow.getOperation(),
+                slow.getElapsedMillis(),
+                slow.getSloMillis(),
+                slow.getUserId(),
+                statements,
+                binds);
+
+        synchronized (slowest) {
+            slowest.add(slow);
+            if (slowest.size() > slowLogSize) {
+                slowest.poll();
+            }
+        }
+    }
+
+    // 리포지토리의 사용자 id 인자로 받은 값과 요청 사용자 id 와 같은 값은 마스킹한다.
+    private static String bindsOf(final Object[] binds, final Capture capture) {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < binds.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            final Object bind = binds[i];
+            final String value = bind != null && (bind.equals(capture.userId) || capture.redactedValues.contains(bind))
+                    ? redact(String.valueOf(bind))
+                    : bind instanceof Object[] array ? Arrays.deepToString(array) : String.valueOf(bind);
+            builder.append(value.length() > MAX_BIND_LENGTH ? value.substring(0, MAX_BIND_LENGTH) + "..." : value);
+        }
+        return builder.append(']').toString();
+    }
+
+    static String redact(final String userId) {
+        if (userId == null) {
+            return null;
+        }
+        return userId.length() <= 2 ? "***" : userId.substring(0, 2) + "***";
+    }
+
+    private static double millisOf(final long micros) {
+        return micros / 1000.0;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Mark {
+        private final String operation;
+        private final Capture capture;
+        private final boolean owner;
+        private final int statementFrom;
+        private final long startNanos;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Capture {
+        private final String userId;
+        private final List<Statement> statements = new ArrayList<>();
+        private final List<Object> redactedValues = new ArrayList<>();
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Statement {
+        private final String sql;
+        private final Object[] binds;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class OperationLatency {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+        private final LongAdder breaches = new LongAdder();
+        private final long thresholdNanos;
+    }
+}
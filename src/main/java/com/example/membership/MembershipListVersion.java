@@ -0,0 +1,26 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 사용자 멤버십 목록의 변경 여부를 판단하기 위한 집계 projection.
+ * 추가/삭제는 count 와 id 합으로, 적립은 point 합과 최종 수정 시각으로 감지한다. 핫 잔액에 쌓인 미반영 적립은
+ * 조회 응답에 더해지므로 호출하는 쪽이 그 합계를 함께 넘긴다. 목록에 붙는 제휴사 등급/포인트도 같은 이유로
+ * {@link PartnerMembershipAggregator#versionOf} 값을 넘겨받는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MembershipListVersion {
+    private final Long count;
+    private final Long idSum;
+    private final Long pointSum;
+    private final LocalDateTime lastUpdatedAt;
+
+    public String toETag(final long pending, final long partnerVersion) {
+        return MembershipETags.strong(
+                count, idSum, pointSum, MembershipETags.epochNanos(lastUpdatedAt), pending, partnerVersion);
+    }
+}
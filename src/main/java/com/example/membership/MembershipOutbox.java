@@ -0,0 +1,28 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Component
+public class MembershipOutbox {
+
+    private final MembershipEventRepository membershipEventRepository;
+
+    /**
+     * 호출한 트랜잭션에 변경 이벤트를 함께 기록한다. 변경이 롤백되면 이벤트도 남지 않는다.
+     * 다시 읽을 일이 없는 행이라 엔티티로 persist 하지 않고 INSERT 만 보낸다.
+     */
+    public void append(
+            final Long membershipId, final String userId, final MembershipEventType eventType, final long pointDelta) {
+        membershipEventRepository.append(membershipId, userId, eventType.name(), pointDelta, LocalDateTime.now());
+    }
+
+    // 삭제 이벤트는 tombstone 행의 잔액을 그대로 옮겨 쓴다.
+    public void appendRemoval(final Long membershipId) {
+        membershipEventRepository.appendRemoval(membershipId, LocalDateTime.now());
+    }
+}
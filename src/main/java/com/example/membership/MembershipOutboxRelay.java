@@ -0,0 +1,94 @@
+package com.example.membership;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 아직 발행하지 않은 outbox 를 id 순 배치로 읽어 모든 sink 에 발행하고 발행 순번을 붙인다. 모든 인스턴스에서 돌지만
+ * 배치마다 relay 잠금 행을 SKIP LOCKED 로 잡으므로 한 번에 한 인스턴스만 발행하고, 그래서 멤버십별 순서가 유지된다.
+ * 발행 후 커밋 전에 죽으면 같은 이벤트가 다시 나가므로 소비자는 id 로 중복을 걸러야 한다(at-least-once).
+ * 발행한 행은 retention 이 지나면 지운다. 그동안 인스턴스마다 {@link MembershipEventBroadcaster} 가 순번 커서로 읽는다.
+ */
+@Slf4j
+@Component
+public class MembershipOutboxRelay {
+
+    private final MembershipEventRepository membershipEventRepository;
+    private final List<MembershipEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public MembershipOutboxRelay(
+            final MembershipEventRepository membershipEventRepository,
+            final List<MembershipEventSink> sinks,
+            final PlatformTransactionManager transactionManager,
+            @Value("${membership.outbox.batch-size:500}") final int batchSize,
+            @Value("${membership.outbox.retention:5m}") final Duration retention) {
+        this.membershipEventRepository = membershipEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${membership.outbox.relay-interval:1s}")
+    public void scheduledRelay() {
+        try {
+            relay();
+        } catch (Exception e) {
+            log.warn("Membership outbox relay failed: ", e);
+        }
+    }
+
+    // 이번에 발행한 건수. 다른 인스턴스가 relay 중이면 0.
+    public int relay() {
+        int published = 0;
+        boolean first = true;
+        while (true) {
+            final boolean purge = first;
+            final Integer relayed = transactionTemplate.execute(status -> relayBatch(purge));
+            first = false;
+            if (relayed == null || relayed <= 0) {
+                return published;
+            }
+            published += relayed;
+            if (relayed < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    private int relayBatch(final boolean purge) {
+        if (membershipEventRepository.lockRelay().isEmpty()) {
+            return -1;
+        }
+        final LocalDateTime now = LocalDateTime.now();
+        if (purge) {
+            membershipEventRepository.deleteRelayedBefore(now.minus(retention));
+        }
+
+        final List<MembershipEvent> events =
+                membershipEventRepository.findAllByRelaySeqIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        for (final MembershipEventSink sink : sinks) {
+            sink.publish(events);
+        }
+        final long offset = membershipEventRepository.findMaxRelaySeq() + 1 - events.get(0).getId();
+        membershipEventRepository.markRelayed(events.stream().map(MembershipEvent::getId).toList(), offset, now);
+        return events.size();
+    }
+}
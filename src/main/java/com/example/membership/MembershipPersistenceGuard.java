@@ -0,0 +1,118 @@
+package com.example.membership;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MembershipService 호출을 bulkhead(읽기/쓰기 분리)와 circuit breaker 로 감싼다.
+ * 트랜잭션은 시작할 때(hot-store 프로필에서는 첫 SQL 때) Hikari 커넥션을 잡으므로, 트랜잭션 advisor 보다 바깥에서
+ * 실행돼야 막힌 DB 를 기다리지 않는다.
+ * circuit 이 열렸거나 읽기 슬롯이 가득 차면 마지막으로 성공한 읽기 결과를 돌려준다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class MembershipPersistenceGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    // 최근에 쓴 읽기 결과만 남기는 LRU. 장애 중에 자주 찾는 사용자일수록 남아 있다.
+    private final Map<List<Object>, Object> staleReads;
+    private final Counter staleReadCounter;
+
+    public MembershipPersistenceGuard(
+            final CircuitBreakerRegistry circuitBreakerRegistry,
+            final BulkheadRegistry bulkheadRegistry,
+            final MeterRegistry meterRegistry,
+            @Value("${membership.resilience.stale-cache-max-entries:10000}") final int staleCacheMaxEntries) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(MembershipResilienceConfig.PERSISTENCE);
+        this.readBulkhead =
+                bulkheadRegistry.bulkhead(MembershipResilienceConfig.READ, MembershipResilienceConfig.READ);
+        this.writeBulkhead =
+                bulkheadRegistry.bulkhead(MembershipResilienceConfig.WRITE, MembershipResilienceConfig.WRITE);
+        this.staleReads = lruCache(staleCacheMaxEntries);
+        this.staleReadCounter = Counter.builder("membership.persistence.stale.reads")
+                .description("circuit open/bulkhead full 상태에서 캐시로 응답한 읽기 수")
+                .register(meterRegistry);
+    }
+
+    // get* 은 읽기 전용이라 캐시로 대신 응답해도 되고, 나머지는 모두 쓰기로 본다.
+    @Around("execution(public * com.example.membership.MembershipService.get*(..))")
+    public Object guardRead(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final List<Object> key = new ArrayList<>();
+        key.add(joinPoint.getSignature().getName());
+        key.addAll(Arrays.asList(joinPoint.getArgs()));
+
+        try {
+            final Object result = CircuitBreaker.decorateCheckedSupplier(
+                            circuitBreaker, Bulkhead.decorateCheckedSupplier(readBulkhead, joinPoint::proceed))
+                    .get();
+            remember(key, result);
+            return result;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            final Object stale = staleReads.get(key);
+            if (stale == null) {
+                throw unavailable(key.get(0), e);
+            }
+            staleReadCounter.increment();
+            return stale;
+        }
+    }
+
+    @Around("execution(public * com.example.membership.MembershipService.*(..)) "
+            + "&& !execution(public * com.example.membership.MembershipService.get*(..))")
+    public Object guardWrite(final ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            return CircuitBreaker.decorateCheckedSupplier(
+                            circuitBreaker, Bulkhead.decorateCheckedSupplier(writeBulkhead, joinPoint::proceed))
+                    .get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw unavailable(joinPoint.getSignature().getName(), e);
+        }
+    }
+
+    private void remember(final List<Object> key, final Object result) {
+        if (result == null) {
+            return;
+        }
+        staleReads.put(key, result);
+    }
+
+    private static Map<List<Object>, Object> lruCache(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, Object> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static MembershipException unavailable(final Object method, final RuntimeException cause) {
+        log.warn("Membership persistence unavailable. method: {}, cause: {}", method, cause.getMessage());
+        return new MembershipException(MembershipErrorResult.PERSISTENCE_UNAVAILABLE);
+    }
+}
@@ -1,11 +1,131 @@
 package com.example.membership;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MembershipRepository extends JpaRepository<Membership, Long>, MembershipSearchRepository {
+    // em.find 는 @SQLRestriction 을 거치지 않으므로 JPQL 로 다시 선언해 tombstone 을 제외한다.
+    @Override
+    @Query("select m from Membership m where m.id = :id")
+    Optional<Membership> findById(@Param("id") final Long id);
 
-public interface MembershipRepository extends JpaRepository<Membership, Long> {
     Membership findByUserIdAndMembershipType(String userId, MembershipType membershipType);
 
     List<Membership> findAllByUserId(final String userId);
+
+    @Query("select new com.example.membership.MembershipVersion(m.id, m.userId, m.point, m.updatedAt) "
+            + "from Membership m where m.id = :id")
+    Optional<MembershipVersion> findVersionById(@Param("id") final Long id);
+
+    @Query("select min(m.id) from Membership m")
+    Long findMinId();
+
+    @Query("select max(m.id) from Membership m")
+    Long findMaxId();
+
+    // 정합성 점검 청크. (afterId, upperId] 구간을 id 순으로 읽는다.
+    @Query("select new com.example.membership.MembershipVersion(m.id, m.userId, m.point, m.updatedAt) "
+            + "from Membership m where m.id > :afterId and m.id <= :upperId order by m.id")
+    List<MembershipVersion> findVersionsAfter(
+            @Param("afterId") final long afterId, @Param("upperId") final long upperId, final Pageable pageable);
+
+    @Query("select new com.example.membership.MembershipListVersion(count(m), sum(m.id), sum(m.point), max(m.updatedAt)) "
+            + "from Membership m where m.userId = :userId")
+    MembershipListVersion findListVersionByUserId(@Param("userId") final String userId);
+
+    @Modifying
+    @Query("update Membership m set m.point = m.point + :amount, m.updatedAt = :now where m.id = :id")
+    int increasePoint(
+            @Param("id") final Long id, @Param("amount") final long amount, @Param("now") final LocalDateTime now);
+
+    // 소유자 확인과 삭제 표시를 한 문장으로 처리한다.
+    @Modifying
+    @Query("update Membership m set m.deletedAt = :now, m.updatedAt = :now "
+            + "where m.id = :id and m.userId = :userId and m.deletedAt is null")
+    int softDelete(
+            @Param("id") final Long id, @Param("userId") final String userId, @Param("now") final LocalDateTime now);
+
+    // 같은 종류로 재등록할 때 유니크 인덱스를 막고 있는 tombstone. lot 도 같이 치워야 하므로 id 를 먼저 찾는다.
+    @Query(
+            value = "select id from membership where user_id = :userId and membership_type = :membershipType "
+                    + "and deleted_at is not null",
+            nativeQuery = true)
+    Optional<Long> findTombstoneId(
+            @Param("userId") final String userId, @Param("membershipType") final String membershipType);
+
+    @Query(
+            value = "select id from membership where deleted_at is not null and deleted_at < :before and id > :afterId "
+                    + "order by id limit :limit",
+            nativeQuery = true)
+    List<Long> findTombstoneIds(
+            @Param("before") final LocalDateTime before,
+            @Param("afterId") final long afterId,
+            @Param("limit") final int limit);
+
+    @Modifying
+    @Query(value = "delete from membership where id in (:ids) and deleted_at is not null", nativeQuery = true)
+    int purgeTombstones(@Param("ids") final List<Long> ids);
+
+    // 잔액이 충분할 때만 차감한다. 조건 검사와 차감이 한 문장이라 동시 요청에도 음수가 되지 않는다.
+    @Modifying
+    @Query("update Membership m set m.point = m.point - :amount, m.updatedAt = :now "
+            + "where m.id = :id and m.userId = :userId and m.point >= :amount and m.deletedAt is null")
+    int redeemPoint(
+            @Param("id") final Long id,
+            @Param("userId") final String userId,
+            @Param("amount") final long amount,
+            @Param("now") final LocalDateTime now);
+
+    @Modifying
+    @Query("update Membership m set m.point = m.point + :amount, m.updatedAt = :now "
+            + "where m.id = :id and m.userId = :userId and m.deletedAt is null")
+    int creditPoint(
+            @Param("id") final Long id,
+            @Param("userId") final String userId,
+            @Param("amount") final long amount,
+            @Param("now") final LocalDateTime now);
+
+    // 적립 hot path. 추정한 등급이 맞고 이번 적립으로 등급 상한을 넘지 않을 때만 갱신된다.
+    @Modifying
+    @Query("update Membership m set m.point = m.point + :amount, m.lifetimePoint = m.lifetimePoint + :amount, "
+            + "m.updatedAt = :now where m.id = :id and m.userId = :userId and m.deletedAt is null "
+            + "and m.tier = :tier and m.lifetimePoint + :amount < :ceiling")
+    int accruePoint(
+            @Param("id") final Long id,
+            @Param("userId") final String userId,
+            @Param("tier") final MembershipTier tier,
+            @Param("amount") final long amount,
+            @Param("ceiling") final long ceiling,
+            @Param("now") final LocalDateTime now);
+
+    // 등급이 바뀌는 적립과 핫 잔액 checkpoint. 호출 전에 행 잠금을 잡고 새 등급을 계산해 둔다.
+    @Modifying
+    @Query("update Membership m set m.point = m.point + :amount, m.lifetimePoint = m.lifetimePoint + :amount, "
+            + "m.tier = :tier, m.updatedAt = :now where m.id = :id")
+    int accruePointWithTier(
+            @Param("id") final Long id,
+            @Param("amount") final long amount,
+            @Param("tier") final MembershipTier tier,
+            @Param("now") final LocalDateTime now);
+
+    // 만료분 차감. 잔액이 버킷 합과 어긋나 있더라도 음수로 내려가지 않게 0 에서 멈춘다.
+    @Modifying
+    @Query("update Membership m set m.point = case when m.point > :amount then m.point - :amount else 0 end, "
+            + "m.updatedAt = :now where m.id = :id")
+    int expirePoint(
+            @Param("id") final Long id, @Param("amount") final long amount, @Param("now") final LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Membership m where m.id = :id")
+    Optional<Membership> findForUpdateById(@Param("id") final Long id);
 }
@@ -0,0 +1,64 @@
+package com.example.membership;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.repository.query.Param;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MembershipRepository 메서드별 지연을 MembershipLatencyTracker 에 기록한다. bind 값은 드라이버 단에서 잡고,
+ * 여기서는 이름이 userId 로 끝나는 파라미터(@Param 값 또는 컴파일된 파라미터 이름)의 값을 넘겨 그 구간의 bind 값에서
+ * 요청 헤더와 관계없이 마스킹하게 하므로 스케줄러나 다른 사용자 id 로 부른 호출도 원문이 남지 않는다.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "membership.slo.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MembershipRepositoryLatency {
+
+    private final MembershipLatencyTracker membershipLatencyTracker;
+    // 호출마다 연산 이름과 마스킹할 파라미터를 만들지 않도록 메서드별로 캐시한다.
+    private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.example.membership.MembershipRepository+.*(..))")
+    public Object track(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final Operation operation = operations.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), Operation::of);
+        final MembershipLatencyTracker.Mark mark =
+                membershipLatencyTracker.begin(operation.name, null, joinPoint.getArgs(), operation.redacted);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            membershipLatencyTracker.end(mark);
+        }
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Operation {
+        private final String name;
+        private final boolean[] redacted;
+
+        private static Operation of(final Method method) {
+            final Parameter[] parameters = method.getParameters();
+            final boolean[] redacted = new boolean[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                final Param param = parameters[i].getAnnotation(Param.class);
+                final String name = param != null ? param.value() : parameters[i].getName();
+                redacted[i] = name.toLowerCase(Locale.ROOT).endsWith("userid");
+            }
+            return new Operation("MembershipRepository#" + method.getName(), redacted);
+        }
+    }
+}
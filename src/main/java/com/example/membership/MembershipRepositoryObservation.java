@@ -0,0 +1,61 @@
+package com.example.membership;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MembershipRepository 호출마다 MembershipRepository#<method> span 을 만들고 결과 행 수를 붙인다.
+ * 실제 SQL 과 JDBC 구간은 datasource-micrometer 가 이 span 의 자식으로 남긴다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MembershipRepositoryObservation {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("execution(* com.example.membership.MembershipRepository+.*(..))")
+    public Object observe(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final String method = joinPoint.getSignature().getName();
+        final Observation observation = Observation.createNotStarted("membership.repository", observationRegistry)
+                .contextualName("MembershipRepository#" + method)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+
+        try (Observation.Scope scope = observation.openScope()) {
+            final Object result = joinPoint.proceed();
+            observation.highCardinalityKeyValue("rows", String.valueOf(rowsOf(result)));
+            return result;
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static long rowsOf(final Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
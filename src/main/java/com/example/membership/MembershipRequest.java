@@ -2,21 +2,25 @@ package com.example.membership;
 
 import com.example.membership.ValidationGroups.MembershipAccumulateMarker;
 import com.example.membership.ValidationGroups.MembershipAddMarker;
+import com.example.membership.ValidationGroups.MembershipRedeemMarker;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 
+// 제약을 바꾸면 MembershipRequestValidator 도 같이 바꾼다 (MembershipRequestValidatorTest 가 둘을 비교한다).
 @RequiredArgsConstructor
 @Getter
 @Builder
 @NoArgsConstructor(force = true)
 public class MembershipRequest {
-    @NotNull(groups = {MembershipAddMarker.class, MembershipAccumulateMarker.class})
+    @NotNull(groups = {MembershipAddMarker.class, MembershipAccumulateMarker.class, MembershipRedeemMarker.class})
     @Min(value = 0, groups = {MembershipAddMarker.class, MembershipAccumulateMarker.class})
+    @Positive(groups = {MembershipRedeemMarker.class})
     private final Integer point;
 
     @NotNull(groups = {MembershipAddMarker.class})
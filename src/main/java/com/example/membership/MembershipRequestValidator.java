@@ -0,0 +1,111 @@
+package com.example.membership;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.membership.ValidationGroups.MembershipAccumulateMarker;
+import com.example.membership.ValidationGroups.MembershipAddMarker;
+import com.example.membership.ValidationGroups.MembershipRedeemMarker;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link MembershipRequest} 의 그룹별 제약을 리플렉션 없이 코드로 검사한다. 제약은 MembershipRequest 의 애너테이션과
+ * 같아야 하며, 메시지는 locale 마다 한 번 Hibernate Validator 로 대표 위반을 만들어 보간된 문구를 캐시해 그대로 쓴다.
+ * 그래서 GlobalExceptionHandler 가 내려주는 문구는 리플렉션 경로와 같다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MembershipRequestValidator implements SmartValidator {
+
+    private static final String POINT = "point";
+    private static final String MEMBERSHIP_TYPE = "membershipType";
+
+    private final Validator reflectiveValidator;
+    private final Map<Locale, Messages> messages = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supports(final Class<?> clazz) {
+        return MembershipRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(final Object target, final Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(final Object target, final Errors errors, final Object... validationHints) {
+        final MembershipRequest request = (MembershipRequest) target;
+        final boolean add = hasGroup(validationHints, MembershipAddMarker.class);
+        final boolean accumulate = hasGroup(validationHints, MembershipAccumulateMarker.class);
+        final boolean redeem = hasGroup(validationHints, MembershipRedeemMarker.class);
+        if (!add && !accumulate && !redeem) {
+            return;
+        }
+
+        final Integer point = request.getPoint();
+        if (point == null) {
+            reject(errors, POINT, "NotNull", messages().notNull);
+        } else {
+            // null 이 아닐 때만 범위 제약이 의미가 있다 (Hibernate Validator 도 null 은 통과시킨다).
+            if ((add || accumulate) && point < 0) {
+                reject(errors, POINT, "Min", messages().min, 0L);
+            }
+            if (redeem && point <= 0) {
+                reject(errors, POINT, "Positive", messages().positive);
+            }
+        }
+        if (add && request.getMembershipType() == null) {
+            reject(errors, MEMBERSHIP_TYPE, "NotNull", messages().notNull);
+        }
+    }
+
+    private static boolean hasGroup(final Object[] hints, final Class<?> group) {
+        for (final Object hint : hints) {
+            if (hint == group) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(
+            final Errors errors, final String field, final String code, final String message, final Object... attributes) {
+        final Object[] arguments = new Object[attributes.length + 1];
+        arguments[0] = new DefaultMessageSourceResolvable(
+                new String[] {errors.getObjectName() + Errors.NESTED_PATH_SEPARATOR + field, field}, field);
+        System.arraycopy(attributes, 0, arguments, 1, attributes.length);
+        errors.rejectValue(field, code, arguments, message);
+    }
+
+    // 보간은 요청 locale 을 따르므로 locale 별로 캐시한다.
+    private Messages messages() {
+        return messages.computeIfAbsent(LocaleContextHolder.getLocale(), locale -> new Messages(
+                messageOf(new MembershipRequest(null, MembershipType.NAVER), MembershipAddMarker.class),
+                messageOf(new MembershipRequest(-1, MembershipType.NAVER), MembershipAddMarker.class),
+                messageOf(new MembershipRequest(0, MembershipType.NAVER), MembershipRedeemMarker.class)));
+    }
+
+    private String messageOf(final MembershipRequest sample, final Class<?> group) {
+        final Set<ConstraintViolation<MembershipRequest>> violations = reflectiveValidator.validate(sample, group);
+        return violations.iterator().next().getMessage();
+    }
+
+    @RequiredArgsConstructor
+    private static class Messages {
+        private final String notNull;
+        private final String min;
+        private final String positive;
+    }
+}
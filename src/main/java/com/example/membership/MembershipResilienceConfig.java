@@ -0,0 +1,86 @@
+package com.example.membership;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import jakarta.persistence.PersistenceException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MembershipResilienceConfig {
+
+    public static final String PERSISTENCE = "membershipPersistence";
+    public static final String READ = "membershipRead";
+    public static final String WRITE = "membershipWrite";
+
+    /**
+     * DB 장애(예외)와 커넥션 대기로 느려진 호출을 모두 실패로 센다. 비즈니스 예외는 정상 응답이므로 제외한다.
+     */
+    @Bean
+    public CircuitBreakerRegistry membershipCircuitBreakerRegistry(
+            final MeterRegistry meterRegistry,
+            @Value("${membership.resilience.failure-rate-threshold:50}") final float failureRateThreshold,
+            @Value("${membership.resilience.slow-call-duration:2s}") final Duration slowCallDuration,
+            @Value("${membership.resilience.slow-call-rate-threshold:80}") final float slowCallRateThreshold,
+            @Value("${membership.resilience.sliding-window-size:50}") final int slidingWindowSize,
+            @Value("${membership.resilience.minimum-calls:20}") final int minimumCalls,
+            @Value("${membership.resilience.open-duration:10s}") final Duration openDuration) {
+        final CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(Math.max(1, minimumCalls / 4))
+                .recordExceptions(
+                        DataAccessException.class,
+                        TransactionException.class,
+                        PersistenceException.class,
+                        SQLException.class)
+                .ignoreExceptions(MembershipException.class, BulkheadFullException.class)
+                .build();
+
+        final CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * 읽기와 쓰기가 서로의 동시 실행 슬롯을 뺏지 않도록 bulkhead 를 따로 둔다.
+     */
+    @Bean
+    public BulkheadRegistry membershipBulkheadRegistry(
+            final MeterRegistry meterRegistry,
+            @Value("${membership.resilience.read-concurrency:40}") final int readConcurrency,
+            @Value("${membership.resilience.write-concurrency:20}") final int writeConcurrency,
+            @Value("${membership.resilience.bulkhead-max-wait:1s}") final Duration maxWait) {
+        final BulkheadRegistry registry = BulkheadRegistry.of(Map.of(
+                READ, bulkheadConfig(readConcurrency, maxWait),
+                WRITE, bulkheadConfig(writeConcurrency, maxWait)));
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    private static BulkheadConfig bulkheadConfig(final int maxConcurrentCalls, final Duration maxWait) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 관리자 검색 조건. 비어 있는 조건은 필터에서 빠진다. createdTo 는 미포함(<) 경계.
+@Getter
+@Setter
+@NoArgsConstructor
+public class MembershipSearchCondition {
+    private MembershipType membershipType;
+
+    @PositiveOrZero
+    private Long minPoint;
+
+    @PositiveOrZero
+    private Long maxPoint;
+
+    @DateTimeFormat(iso = ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // keyset 커서: 이전 페이지의 nextAfterId
+    @PositiveOrZero
+    private long afterId = 0L;
+
+    @Min(1)
+    @Max(100)
+    private int size = 20;
+}
@@ -0,0 +1,23 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 검색 결과 프로젝션. 엔티티를 올리지 않고 필요한 컬럼만 읽는다.
+@Getter
+@RequiredArgsConstructor
+@Builder
+public class MembershipSearchItem {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long id;
+    private final String userId;
+    private final MembershipType membershipType;
+    private final Long point;
+    private final LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.example.membership;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+// 관리자 검색용 custom fragment. MembershipRepository 가 함께 구현한다.
+public interface MembershipSearchRepository {
+
+    // id 오름차순 keyset 페이지. afterId 보다 큰 id 만 최대 limit 건.
+    List<MembershipSearchItem> search(Specification<Membership> spec, long afterId, int limit);
+
+    // 정확한 COUNT(*) 대신 cap + 1 건까지만 센다. 반환값이 cap 보다 크면 "cap 이상" 이다.
+    long countUpTo(Specification<Membership> spec, int cap);
+}
@@ -0,0 +1,58 @@
+package com.example.membership;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class MembershipSearchRepositoryImpl implements MembershipSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<MembershipSearchItem> search(
+            final Specification<Membership> spec, final long afterId, final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<MembershipSearchItem> query = cb.createQuery(MembershipSearchItem.class);
+        final Root<Membership> root = query.from(Membership.class);
+
+        query.select(cb.construct(
+                        MembershipSearchItem.class,
+                        root.get("id"),
+                        root.get("userId"),
+                        root.get("membershipType"),
+                        root.get("point"),
+                        root.get("createdAt")))
+                .where(and(cb, spec.toPredicate(root, query, cb), cb.gt(root.get("id"), afterId)))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countUpTo(final Specification<Membership> spec, final int cap) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<Membership> root = query.from(Membership.class);
+
+        // id 만 cap + 1 건 읽고 멈춘다. 인덱스 범위 안에서 끝나므로 전체 COUNT 보다 싸다.
+        query.select(root.get("id")).where(and(cb, spec.toPredicate(root, query, cb), null));
+
+        return entityManager.createQuery(query).setMaxResults(cap + 1).getResultList().size();
+    }
+
+    private static Predicate and(final CriteriaBuilder cb, final Predicate filter, final Predicate keyset) {
+        if (filter == null) {
+            return keyset == null ? cb.conjunction() : keyset;
+        }
+        return keyset == null ? filter : cb.and(filter, keyset);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.membership;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+@Builder
+public class MembershipSearchResponse {
+    private final List<MembershipSearchItem> items;
+
+    // 다음 페이지가 없으면 생략
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonSerialize(using = ToStringSerializer.class)
+    private final Long nextAfterId;
+
+    // countExact 가 false 면 countEstimate 는 "최소 이만큼" 이라는 뜻
+    private final long countEstimate;
+    private final boolean countExact;
+}
@@ -0,0 +1,45 @@
+package com.example.membership;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * CS 용 관리자 검색. offset 대신 id keyset 으로 페이지를 넘기고, 전체 건수는 countCap 까지만 세어 추정치로 돌려준다.
+ */
+@Service
+public class MembershipSearchService {
+
+    private final MembershipRepository membershipRepository;
+    private final int countCap;
+
+    public MembershipSearchService(
+            final MembershipRepository membershipRepository,
+            @Value("${membership.search.count-cap:1000}") final int countCap) {
+        this.membershipRepository = membershipRepository;
+        this.countCap = countCap;
+    }
+
+    @Transactional(readOnly = true)
+    public MembershipSearchResponse search(final MembershipSearchCondition condition) {
+        final Specification<Membership> spec = MembershipSpecifications.of(condition);
+        final int size = condition.getSize();
+
+        // 한 건 더 읽어 다음 페이지 존재 여부를 판단한다.
+        final List<MembershipSearchItem> rows = membershipRepository.search(spec, condition.getAfterId(), size + 1);
+        final boolean hasNext = rows.size() > size;
+        final List<MembershipSearchItem> items = hasNext ? rows.subList(0, size) : rows;
+
+        final long counted = membershipRepository.countUpTo(spec, countCap);
+
+        return MembershipSearchResponse.builder()
+                .items(items)
+                .nextAfterId(hasNext ? items.get(size - 1).getId() : null)
+                .countEstimate(Math.min(counted, countCap))
+                .countExact(counted <= countCap)
+                .build();
+    }
+}
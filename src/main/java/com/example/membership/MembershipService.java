@@ -1,6 +1,8 @@
 package com.example.membership;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -8,17 +10,27 @@ import jakarta.transaction.Transactional;
 
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 
+// 메서드마다 MembershipService#<method> span 을 만든다.
+@Observed(name = "membership.service")
 @RequiredArgsConstructor
 @Service
 public class MembershipService {
 
     private final MembershipRepository membershipRepository;
     private final PointService ratePointService;
+    private final PointLotService pointLotService;
+    private final MembershipSummaryService membershipSummaryService;
+    private final MembershipOutbox membershipOutbox;
+    private final PartnerMembershipAggregator partnerMembershipAggregator;
+    private final HotBalanceStore hotBalanceStore;
+    private final MembershipTierTable membershipTierTable;
 
     private Integer point;
 
+    @Transactional
     public MembershipDto addMembership(final String userId, final MembershipType membershipType, final Integer point) {
         final Membership result = membershipRepository.findByUserIdAndMembershipType(userId, membershipType);
 
@@ -26,13 +38,20 @@ public class MembershipService {
             throw new MembershipException(MembershipErrorResult.DUPLICATED_MEMBERSHIP_REGISTER);
         }
 
+        membershipRepository.findTombstoneId(userId, membershipType.name()).ifPresent(this::purgeTombstone);
+
         final Membership membership = Membership.builder()
                 .userId(userId)
-                .point(point)
+                .point(Long.valueOf(point))
+                .lifetimePoint(Long.valueOf(point))
+                .tier(membershipTierTable.tierOf(point))
                 .membershipType(membershipType)
                 .build();
 
         final Membership savedMembership = membershipRepository.save(membership);
+        pointLotService.accrue(savedMembership.getId(), point);
+        membershipSummaryService.apply(userId, 1, point);
+        membershipOutbox.append(savedMembership.getId(), userId, MembershipEventType.ADDED, point);
 
         return MembershipDto.builder()
                 .id(savedMembership.getId())
@@ -40,20 +59,59 @@ public class MembershipService {
                 .build();
     }
 
+    // tombstone 행과 그 lot 을 같은 트랜잭션에서 지운다. 행을 먼저 지워 잠금 순서를 지킨다.
+    private void purgeTombstone(final Long tombstoneId) {
+        final List<Long> tombstoneIds = List.of(tombstoneId);
+        membershipRepository.purgeTombstones(tombstoneIds);
+        pointLotService.discard(tombstoneIds);
+    }
+
     public List<MembershipDetailResponse> getMembershipList(final String userId) {
 
         List<Membership> membershipList = membershipRepository.findAllByUserId(userId);
+        final Map<MembershipType, PartnerMembership> partners = partnerMembershipAggregator.fetchAll(
+                userId,
+                membershipList.stream().map(Membership::getMembershipType).toList());
 
         return membershipList.stream()
-                .map(v -> MembershipDetailResponse.builder()
-                        .id(v.getId())
-                        .membershipType(v.getMembershipType())
-                        .point(v.getPoint())
-                        .createdAt(v.getCreatedAt())
-                        .build())
+                .map(v -> {
+                    final PartnerMembership partner = partners.get(v.getMembershipType());
+                    return MembershipDetailResponse.builder()
+                            .id(v.getId())
+                            .membershipType(v.getMembershipType())
+                            .point(v.getPoint() + hotBalanceStore.pendingPointOf(v.getId(), v.getTier()))
+                            .tier(v.getTier())
+                            .createdAt(v.getCreatedAt())
+                            .partnerTier(partner == null ? null : partner.getTier())
+                            .partnerPoint(partner == null ? null : partner.getPartnerPoint())
+                            .partnerDegraded(partner == null ? null : partner.isDegraded())
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
 
+    public MembershipSummaryResponse getMembershipSummary(final String userId) {
+        return membershipSummaryService.getSummary(userId);
+    }
+
+    public String getMembershipListETag(final String userId) {
+        return membershipRepository
+                .findListVersionByUserId(userId)
+                .toETag(hotBalanceStore.pendingOfUser(userId), partnerMembershipAggregator.versionOf(userId));
+    }
+
+    public String getMembershipETag(final Long membershipId, final String userId) {
+        final MembershipVersion version = membershipRepository
+                .findVersionById(membershipId)
+                .orElseThrow(() -> new MembershipException(MembershipErrorResult.MEMBERSHIP_NOT_FOUND));
+
+        if (!version.getUserId().equals(userId)) {
+            throw new MembershipException(MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
+        }
+
+        return version.toETag(hotBalanceStore.pendingOf(membershipId));
+    }
+
     public MembershipDetailResponse getMembership(final Long membershipId, final String userId) {
         final Optional<Membership> optionalMembership = membershipRepository.findById(membershipId);
         final Membership membership = optionalMembership.orElseThrow(
@@ -66,35 +124,154 @@ public class MembershipService {
         return MembershipDetailResponse.builder()
                 .id(membership.getId())
                 .membershipType(membership.getMembershipType())
-                .point(membership.getPoint())
+                .point(membership.getPoint()
+                        + hotBalanceStore.pendingPointOf(membership.getId(), membership.getTier()))
+                .tier(membership.getTier())
                 .createdAt(membership.getCreatedAt())
                 .build();
     }
 
+    /**
+     * 엔티티를 읽지 않고 소유자 조건이 붙은 UPDATE 한 번으로 tombstone 을 남긴다.
+     * 실제 행과 포인트 lot 은 {@link MembershipTombstoneCompactor} 가 한가한 시간에 묶어서 지운다.
+     */
+    @Transactional
     public void removeMembership(final Long membershipId, final String userId) {
-        final Membership membership = membershipRepository
-                .findById(membershipId)
-                .orElseThrow(() -> new MembershipException(MembershipErrorResult.MEMBERSHIP_NOT_FOUND));
-
-        if (!membership.getUserId().equals(userId)) {
-            throw new MembershipException(MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
+        final int updated = membershipRepository.softDelete(membershipId, userId, LocalDateTime.now());
+        if (updated == 0) {
+            throw new MembershipException(
+                    rejectionOf(membershipId, userId).orElse(MembershipErrorResult.MEMBERSHIP_NOT_FOUND));
         }
 
-        membershipRepository.deleteById(membershipId);
+        membershipSummaryService.applyRemoval(membershipId, userId);
+        membershipOutbox.appendRemoval(membershipId);
+        hotBalanceStore.retire(membershipId);
     }
 
+    /**
+     * 적립은 가장 자주 불리는 쓰기라 엔티티를 로딩하지 않는다. 소유자 조건이 붙은 원자적 증가 한 번으로 처리해
+     * 영속성 컨텍스트 스냅샷, Optional, 람다 캡처 없이 원시 타입만으로 끝나고, 실패한 경우에만 원인을 조회한다.
+     * 적립률은 hint 로 추정한 등급으로 계산하고, UPDATE 가 등급과 등급 상한을 함께 확인하므로 등급 전이와
+     * hint 오류는 모두 0 행 갱신으로 드러나 {@link #accrueAcrossTier} 에서 처리된다.
+     * 핫 멤버십은 hint 를 쓰지 않고 결제액을 그대로 모아 두며, checkpoint 가 행 잠금 아래에서 실제 등급으로 계산한다.
+     */
     @Transactional
     public void accumulateMembershipPoint(final Long membershipId, final String userId, final int amount) {
+        // 핫 멤버십이면 SQL 없이 끝난다. hot-store 프로필은 커넥션을 첫 SQL 때 잡으므로 커넥션도 잡지 않는다.
+        if (hotBalanceStore.tryAccumulate(membershipId, userId, amount)) {
+            return;
+        }
+
+        final MembershipTier hinted = membershipTierTable.hintOf(membershipId);
+        final int additionalAmount = ratePointService.calculateAmount(amount, hinted);
+
+        // 만료 스윕이 같은 행을 차감하므로 읽은 값에 더해 덮어쓰지 않고 DB 에서 원자적으로 증가시킨다.
+        final LocalDateTime now = LocalDateTime.now();
+        if (membershipRepository.accruePoint(
+                        membershipId, userId, hinted, additionalAmount, membershipTierTable.ceilingOf(hinted), now)
+                == 0) {
+            accrueAcrossTier(membershipId, userId, amount, now);
+            return;
+        }
+        recordAccrual(membershipId, userId, additionalAmount);
+    }
+
+    /**
+     * 등급이 바뀌거나 hint 가 틀린 적립, 또는 적립할 수 없는 요청. 행 잠금을 잡고 실제 등급으로 적립률을 다시 계산한 뒤
+     * 기준값 표로 새 등급을 정한다.
+     */
+    private void accrueAcrossTier(
+            final Long membershipId, final String userId, final int amount, final LocalDateTime now) {
         final Membership membership = membershipRepository
-                .findById(membershipId)
+                .findForUpdateById(membershipId)
                 .orElseThrow(() -> new MembershipException(MembershipErrorResult.MEMBERSHIP_NOT_FOUND));
-
         if (!membership.getUserId().equals(userId)) {
             throw new MembershipException(MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
         }
 
-        final int additionalAmount = ratePointService.calculateAmount(amount);
+        final MembershipTier current = membership.getTier();
+        final int additionalAmount = ratePointService.calculateAmount(amount, current);
+        final MembershipTier next = membershipTierTable.tierOf(membership.getLifetimePoint() + additionalAmount);
+        membershipRepository.accruePointWithTier(membershipId, additionalAmount, next, now);
+        membershipTierTable.remember(membershipId, next);
 
-        membership.setPoint(additionalAmount + membership.getPoint());
+        recordAccrual(membershipId, userId, additionalAmount);
+        if (next != current) {
+            membershipOutbox.append(membershipId, userId, MembershipEventType.TIER_CHANGED, 0);
+        }
+    }
+
+    private void recordAccrual(final Long membershipId, final String userId, final int additionalAmount) {
+        pointLotService.accrue(membershipId, additionalAmount);
+        membershipSummaryService.apply(userId, 0, additionalAmount);
+        membershipOutbox.append(membershipId, userId, MembershipEventType.ACCUMULATED, additionalAmount);
+        hotBalanceStore.recordColdHit(membershipId, userId);
+    }
+
+    @Transactional
+    public void redeemMembershipPoint(final Long membershipId, final String userId, final long amount) {
+        final int updated = membershipRepository.redeemPoint(membershipId, userId, amount, LocalDateTime.now());
+        if (updated == 0) {
+            throw new MembershipException(redeemFailureOf(membershipId, userId));
+        }
+
+        pointLotService.consume(membershipId, amount);
+        membershipSummaryService.apply(userId, 0, -amount);
+        membershipOutbox.append(membershipId, userId, MembershipEventType.REDEEMED, -amount);
+    }
+
+    /**
+     * 같은 사용자의 두 멤버십 사이에서 포인트를 옮긴다. 두 행 모두 조건부 UPDATE 로 갱신하고,
+     * 잠금 순서를 멤버십 id 오름차순으로 고정해 반대 방향 이체가 동시에 들어와도 교착되지 않는다.
+     */
+    @Transactional
+    public void transferMembershipPoint(
+            final Long sourceMembershipId, final Long targetMembershipId, final String userId, final long amount) {
+        if (sourceMembershipId.equals(targetMembershipId)) {
+            throw new MembershipException(MembershipErrorResult.INVALID_TRANSFER_TARGET);
+        }
+
+        final LocalDateTime now = LocalDateTime.now();
+        if (sourceMembershipId < targetMembershipId) {
+            debit(sourceMembershipId, userId, amount, now);
+            credit(targetMembershipId, userId, amount, now);
+        } else {
+            credit(targetMembershipId, userId, amount, now);
+            debit(sourceMembershipId, userId, amount, now);
+        }
+
+        final List<PointBucket> moved = pointLotService.consume(sourceMembershipId, amount);
+        pointLotService.receive(targetMembershipId, amount, moved);
+        // 같은 사용자 안에서의 이동이라 rollup 합계는 변하지 않는다.
+        membershipOutbox.append(sourceMembershipId, userId, MembershipEventType.TRANSFERRED_OUT, -amount);
+        membershipOutbox.append(targetMembershipId, userId, MembershipEventType.TRANSFERRED_IN, amount);
+    }
+
+    private void debit(final Long membershipId, final String userId, final long amount, final LocalDateTime now) {
+        if (membershipRepository.redeemPoint(membershipId, userId, amount, now) == 0) {
+            throw new MembershipException(redeemFailureOf(membershipId, userId));
+        }
+    }
+
+    private void credit(final Long membershipId, final String userId, final long amount, final LocalDateTime now) {
+        if (membershipRepository.creditPoint(membershipId, userId, amount, now) == 0) {
+            throw new MembershipException(redeemFailureOf(membershipId, userId));
+        }
+    }
+
+    private MembershipErrorResult redeemFailureOf(final Long membershipId, final String userId) {
+        return rejectionOf(membershipId, userId).orElse(MembershipErrorResult.INSUFFICIENT_POINT);
+    }
+
+    // 조건부 UPDATE 가 실패한 이유는 실패 경로에서만 한 번 더 조회해 구분한다.
+    private Optional<MembershipErrorResult> rejectionOf(final Long membershipId, final String userId) {
+        final Optional<MembershipVersion> version = membershipRepository.findVersionById(membershipId);
+        if (version.isEmpty()) {
+            return Optional.of(MembershipErrorResult.MEMBERSHIP_NOT_FOUND);
+        }
+        if (!version.get().getUserId().equals(userId)) {
+            return Optional.of(MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
+        }
+        return Optional.empty();
     }
 }
@@ -0,0 +1,79 @@
+package com.example.membership;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * graceful shutdown 에서 HTTP 요청이 모두 빠진 뒤 남은 백그라운드 작업을 기한 안에 비운다.
+ * 핫 잔액을 DB 에 반영하고 outbox 를 발행한다. 기한을 넘긴 나머지는 WAL 과 outbox 테이블에 남아 다음 기동이나 다른 노드가 처리한다.
+ */
+@Slf4j
+@Component
+public class MembershipShutdownDrain implements SmartLifecycle {
+
+    // 웹 서버 graceful 단계(DEFAULT_PHASE - 1024)가 끝난 뒤, 웹 서버 정지(DEFAULT_PHASE - 2048) 전에 멈춘다.
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 1536;
+
+    private final HotBalanceStore hotBalanceStore;
+    private final MembershipOutboxRelay membershipOutboxRelay;
+    private final Duration deadline;
+    private volatile boolean running;
+
+    public MembershipShutdownDrain(
+            final HotBalanceStore hotBalanceStore,
+            final MembershipOutboxRelay membershipOutboxRelay,
+            @Value("${membership.shutdown.drain-deadline:10s}") final Duration deadline) {
+        this.hotBalanceStore = hotBalanceStore;
+        this.membershipOutboxRelay = membershipOutboxRelay;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        final long started = System.nanoTime();
+        final FutureTask<Integer> drain = new FutureTask<>(() -> {
+            hotBalanceStore.checkpoint();
+            return membershipOutboxRelay.relay();
+        });
+        Thread.ofPlatform().name("membership-shutdown-drain").daemon().start(drain);
+
+        try {
+            final int published = drain.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            log.info(
+                    "Shutdown drain finished. published: {}, elapsed: {}ms",
+                    published,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (TimeoutException e) {
+            log.warn("Shutdown drain exceeded {}. remaining work stays in WAL/outbox.", deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Shutdown drain failed: ", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
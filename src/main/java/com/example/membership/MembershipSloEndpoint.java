@@ -0,0 +1,21 @@
+package com.example.membership;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// GET /actuator/slo : 연산별 지연 백분위와 SLO 를 넘긴 가장 느린 호출
+@Component
+@Endpoint(id = "slo")
+@RequiredArgsConstructor
+public class MembershipSloEndpoint {
+
+    private final MembershipLatencyTracker membershipLatencyTracker;
+
+    @ReadOperation
+    public MembershipSloReport slo() {
+        return membershipLatencyTracker.report();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/slo 응답. 연산별 지연 백분위(ms)와 SLO 를 넘긴 호출 중 가장 느린 것들.
+ */
+@Getter
+@RequiredArgsConstructor
+@Builder
+public class MembershipSloReport {
+
+    private final List<OperationLatencySnapshot> operations;
+    private final List<SlowOperation> slowest;
+
+    @Getter
+    @RequiredArgsConstructor
+    @Builder
+    public static class OperationLatencySnapshot {
+        private final String operation;
+        private final long count;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final double maxMillis;
+        private final long sloMillis;
+        private final long breaches;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    @Builder
+    public static class SlowOperation {
+        private final String operation;
+        private final double elapsedMillis;
+        private final long sloMillis;
+        // 앞 두 글자만 남긴다
+        private final String userId;
+        private final List<String> statements;
+        private final List<String> binds;
+        private final LocalDateTime occurredAt;
+    }
+}
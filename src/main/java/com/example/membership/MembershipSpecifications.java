@@ -0,0 +1,42 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+// 관리자 검색 필터. null 조건은 Specification 조합에서 무시된다.
+final class MembershipSpecifications {
+
+    private MembershipSpecifications() {
+    }
+
+    static Specification<Membership> of(final MembershipSearchCondition condition) {
+        return Specification.where(membershipTypeEq(condition.getMembershipType()))
+                .and(pointGoe(condition.getMinPoint()))
+                .and(pointLoe(condition.getMaxPoint()))
+                .and(createdAtGoe(condition.getCreatedFrom()))
+                .and(createdAtLt(condition.getCreatedTo()));
+    }
+
+    static Specification<Membership> membershipTypeEq(final MembershipType membershipType) {
+        return membershipType == null ? null : (root, query, cb) -> cb.equal(root.get("membershipType"), membershipType);
+    }
+
+    static Specification<Membership> pointGoe(final Long minPoint) {
+        return minPoint == null ? null : (root, query, cb) -> cb.ge(root.get("point"), minPoint);
+    }
+
+    static Specification<Membership> pointLoe(final Long maxPoint) {
+        return maxPoint == null ? null : (root, query, cb) -> cb.le(root.get("point"), maxPoint);
+    }
+
+    static Specification<Membership> createdAtGoe(final LocalDateTime from) {
+        return from == null
+                ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"), from);
+    }
+
+    static Specification<Membership> createdAtLt(final LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.<LocalDateTime>get("createdAt"), to);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.membership;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * datasource-micrometer 가 감싼 datasource-proxy 에 붙어, 실제로 실행된 SQL 과 드라이버에 넘긴 파라미터를
+ * 느린 호출 로그용으로 MembershipLatencyTracker 에 넘긴다. Hibernate 뿐 아니라 JdbcTemplate 문장도 잡힌다.
+ * 배치 실행은 파라미터 묶음마다 한 문장으로 남긴다. 수집 구간이 없으면 아무것도 복사하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "membership.slo.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MembershipStatementListener implements QueryExecutionListener {
+
+    private static final Object[] NO_BINDS = new Object[0];
+
+    private final MembershipLatencyTracker membershipLatencyTracker;
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        for (final QueryInfo queryInfo : queryInfoList) {
+            if (!membershipLatencyTracker.capturing()) {
+                return;
+            }
+            final List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            if (parametersList.isEmpty()) {
+                membershipLatencyTracker.statement(queryInfo.getQuery(), NO_BINDS);
+                continue;
+            }
+            for (final List<ParameterSetOperation> parameters : parametersList) {
+                membershipLatencyTracker.statement(queryInfo.getQuery(), bindsOf(parameters));
+            }
+        }
+    }
+
+    // setXxx(index, value) 호출을 index 자리에 둔다. setNull 의 두 번째 인자는 SQL 타입이라 null 로 둔다.
+    private static Object[] bindsOf(final List<ParameterSetOperation> parameters) {
+        final Object[] binds = new Object[parameters.size()];
+        for (final ParameterSetOperation parameter : parameters) {
+            final Object[] args = parameter.getArgs();
+            if (args.length >= 2 && args[0] instanceof Integer index && index >= 1 && index <= binds.length) {
+                binds[index - 1] = "setNull".equals(parameter.getMethod().getName()) ? null : args[1];
+            }
+        }
+        return binds;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class MembershipSummary {
+
+    @Id
+    private String userId;
+
+    @Column(nullable = false)
+    private Integer membershipCount;
+
+    @Column(nullable = false)
+    private Long totalPoint;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,130 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * membership 테이블을 userId 순으로 집계해 rollup 과 비교하고, 어긋난 행은 실제 값으로 덮어쓴다.
+ * 페이지 단위 비교는 잠금 없이 후보만 고르고, 덮어쓰기는 rollup 행 잠금을 잡은 트랜잭션 안에서 실제 값을 다시 읽어
+ * 그 사이 커밋된 적립을 잃지 않는다.
+ */
+@Slf4j
+@Component
+public class MembershipSummaryReconciler {
+
+    private final MembershipSummaryRepository membershipSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+
+    public MembershipSummaryReconciler(
+            final MembershipSummaryRepository membershipSummaryRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${membership.summary.reconcile-page-size:500}") final int pageSize) {
+        this.membershipSummaryRepository = membershipSummaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(cron = "${membership.summary.reconcile-cron:0 40 3 * * *}")
+    public void scheduledReconcile() {
+        log.info("Membership summary reconciliation finished. repaired: {}", reconcile());
+    }
+
+    public int reconcile() {
+        int repaired = 0;
+
+        String afterUserId = "";
+        while (true) {
+            final List<MembershipSummaryResponse> actuals =
+                    membershipSummaryRepository.aggregateAfter(afterUserId, PageRequest.of(0, pageSize));
+            if (actuals.isEmpty()) {
+                break;
+            }
+            repaired += repairPage(actuals);
+            afterUserId = actuals.get(actuals.size() - 1).getUserId();
+        }
+
+        afterUserId = "";
+        while (true) {
+            final List<MembershipSummary> orphans =
+                    membershipSummaryRepository.findOrphanedAfter(afterUserId, PageRequest.of(0, pageSize));
+            if (orphans.isEmpty()) {
+                break;
+            }
+            for (final MembershipSummary orphan : orphans) {
+                if (repair(orphan.getUserId())) {
+                    repaired++;
+                }
+            }
+            afterUserId = orphans.get(orphans.size() - 1).getUserId();
+        }
+        return repaired;
+    }
+
+    private int repairPage(final List<MembershipSummaryResponse> actuals) {
+        final Map<String, MembershipSummary> rollups = membershipSummaryRepository
+                .findAllById(actuals.stream().map(MembershipSummaryResponse::getUserId).toList())
+                .stream()
+                .collect(Collectors.toMap(MembershipSummary::getUserId, Function.identity()));
+
+        int repaired = 0;
+        for (final MembershipSummaryResponse actual : actuals) {
+            final MembershipSummary rollup = rollups.get(actual.getUserId());
+            if (rollup != null && matches(rollup, actual.getMembershipCount(), pointOf(actual))) {
+                continue;
+            }
+            if (repair(actual.getUserId())) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * 잠금 없이 읽은 값은 그 뒤의 적립을 모르므로 여기서 다시 확인한다. 0 증분 upsert 로 rollup 행 잠금을 먼저 잡으면
+     * membership 행을 갱신하고 rollup 을 기다리는 쓰기는 아직 커밋 전이라 집계에 빠지고, 커밋 뒤 자기 증분을 더한다.
+     */
+    boolean repair(final String userId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            final LocalDateTime now = LocalDateTime.now();
+            membershipSummaryRepository.applyDelta(userId, 0, 0, now);
+            final MembershipSummary rollup = membershipSummaryRepository.findById(userId).orElseThrow();
+            final MembershipSummaryResponse actual = membershipSummaryRepository
+                    .aggregateOf(userId)
+                    .orElseGet(() -> new MembershipSummaryResponse(userId, 0L, 0L));
+            final long actualPoint = pointOf(actual);
+            if (matches(rollup, actual.getMembershipCount(), actualPoint)) {
+                return false;
+            }
+            log.warn(
+                    "Membership summary drift. userId: {}, rollup: {}/{}, actual: {}/{}",
+                    userId,
+                    rollup.getMembershipCount(),
+                    rollup.getTotalPoint(),
+                    actual.getMembershipCount(),
+                    actualPoint);
+            membershipSummaryRepository.overwrite(userId, actual.getMembershipCount().intValue(), actualPoint, now);
+            return true;
+        }));
+    }
+
+    private static boolean matches(final MembershipSummary rollup, final long membershipCount, final long totalPoint) {
+        return rollup.getMembershipCount().longValue() == membershipCount && rollup.getTotalPoint() == totalPoint;
+    }
+
+    private static long pointOf(final MembershipSummaryResponse actual) {
+        return actual.getTotalPoint() == null ? 0 : actual.getTotalPoint();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MembershipSummaryRepository extends JpaRepository<MembershipSummary, String> {
+
+    @Modifying
+    @Query(
+            value = "insert into membership_summary (user_id, membership_count, total_point, updated_at) "
+                    + "values (:userId, :countDelta, :pointDelta, :now) on duplicate key update "
+                    + "membership_count = membership_count + values(membership_count), "
+                    + "total_point = total_point + values(total_point), updated_at = values(updated_at)",
+            nativeQuery = true)
+    int applyDelta(
+            @Param("userId") final String userId,
+            @Param("countDelta") final int countDelta,
+            @Param("pointDelta") final long pointDelta,
+            @Param("now") final LocalDateTime now);
+
+    // 방금 tombstone 처리한 멤버십의 잔액을 애플리케이션으로 읽어오지 않고 DB 안에서 바로 뺀다.
+    @Modifying
+    @Query(
+            value = "update membership_summary set membership_count = membership_count - 1, "
+                    + "total_point = total_point - (select m.point from membership m where m.id = :membershipId), "
+                    + "updated_at = :now where user_id = :userId",
+            nativeQuery = true)
+    int applyRemoval(
+            @Param("membershipId") final Long membershipId,
+            @Param("userId") final String userId,
+            @Param("now") final LocalDateTime now);
+
+    @Modifying
+    @Query(
+            value = "insert into membership_summary (user_id, membership_count, total_point, updated_at) "
+                    + "values (:userId, :membershipCount, :totalPoint, :now) on duplicate key update "
+                    + "membership_count = values(membership_count), total_point = values(total_point), "
+                    + "updated_at = values(updated_at)",
+            nativeQuery = true)
+    int overwrite(
+            @Param("userId") final String userId,
+            @Param("membershipCount") final int membershipCount,
+            @Param("totalPoint") final long totalPoint,
+            @Param("now") final LocalDateTime now);
+
+    @Query("select new com.example.membership.MembershipSummaryResponse(m.userId, count(m), sum(m.point)) "
+            + "from Membership m where m.userId > :afterUserId group by m.userId order by m.userId")
+    List<MembershipSummaryResponse> aggregateAfter(
+            @Param("afterUserId") final String afterUserId, final Pageable pageable);
+
+    @Query("select new com.example.membership.MembershipSummaryResponse(m.userId, count(m), sum(m.point)) "
+            + "from Membership m where m.userId = :userId group by m.userId")
+    Optional<MembershipSummaryResponse> aggregateOf(@Param("userId") final String userId);
+
+    // 멤버십이 모두 사라졌는데 0 이 아닌 rollup
+    @Query("select s from MembershipSummary s where s.userId > :afterUserId "
+            + "and (s.membershipCount <> 0 or s.totalPoint <> 0) "
+            + "and not exists (select 1 from Membership m where m.userId = s.userId) order by s.userId")
+    List<MembershipSummary> findOrphanedAfter(
+            @Param("afterUserId") final String afterUserId, final Pageable pageable);
+}
@@ -0,0 +1,14 @@
+package com.example.membership;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+@Builder
+public class MembershipSummaryResponse {
+    private final String userId;
+    private final Long membershipCount;
+    private final Long totalPoint;
+}
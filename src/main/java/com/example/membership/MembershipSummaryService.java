@@ -0,0 +1,43 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Service
+public class MembershipSummaryService {
+
+    private final MembershipSummaryRepository membershipSummaryRepository;
+
+    /**
+     * 호출한 트랜잭션 안에서 rollup 을 증분 갱신한다. 멤버십 행을 먼저 갱신한 뒤 호출해 잠금 순서를 맞춘다.
+     */
+    public void apply(final String userId, final int countDelta, final long pointDelta) {
+        if (countDelta == 0 && pointDelta == 0) {
+            return;
+        }
+        membershipSummaryRepository.applyDelta(userId, countDelta, pointDelta, LocalDateTime.now());
+    }
+
+    public MembershipSummaryResponse getSummary(final String userId) {
+        return membershipSummaryRepository
+                .findById(userId)
+                .map(summary -> MembershipSummaryResponse.builder()
+                        .userId(userId)
+                        .membershipCount(summary.getMembershipCount().longValue())
+                        .totalPoint(summary.getTotalPoint())
+                        .build())
+                .orElseGet(() -> MembershipSummaryResponse.builder()
+                        .userId(userId)
+                        .membershipCount(0L)
+                        .totalPoint(0L)
+                        .build());
+    }
+
+    public void applyRemoval(final Long membershipId, final String userId) {
+        membershipSummaryRepository.applyRemoval(membershipId, userId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.membership;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 누적 적립 포인트 기준 등급. 선언 순서가 곧 등급 순서이고 MembershipTierTable 의 기준값 순서와 같다.
+@Getter
+@RequiredArgsConstructor
+public enum MembershipTier {
+    BRONZE(1),
+    SILVER(2),
+    GOLD(3);
+
+    // 결제 금액 대비 적립률(%)
+    private final int pointRate;
+}
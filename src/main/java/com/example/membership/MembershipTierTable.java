@@ -0,0 +1,65 @@
+package com.example.membership;
+
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 등급 기준값 표. 누적 포인트로 등급을 찾을 때는 정렬된 기준값 배열을 이진 탐색하므로 DB 를 보지 않는다.
+ *
+ * <p>적립 경로는 멤버십 행을 읽지 않으므로 적립률을 고를 등급을 hint 로 추정한다. hint 는 id 해시 슬롯 하나당 1바이트라
+ * 메모리가 고정이고, 슬롯 충돌이나 스레드 간 경합으로 틀려도 적립 UPDATE 의 등급 조건이 걸러 내 느린 경로에서 바로잡힌다.
+ * 등급 조건 UPDATE 를 거치지 않는 핫 잔액 경로는 hint 를 쓰지 않는다.
+ */
+@Component
+public class MembershipTierTable {
+
+    private static final MembershipTier[] TIERS = MembershipTier.values();
+
+    private final long[] thresholds;
+    private final byte[] hints;
+    private final int hintMask;
+
+    public MembershipTierTable(
+            @Value("${membership.tier.thresholds:0,100000,500000}") final long[] thresholds,
+            @Value("${membership.tier.hint-slots:65536}") final int hintSlots) {
+        if (thresholds.length != TIERS.length || thresholds[0] != 0) {
+            throw new IllegalArgumentException("Tier thresholds must start at 0 and match " + Arrays.toString(TIERS));
+        }
+        for (int i = 1; i < thresholds.length; i++) {
+            if (thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Tier thresholds must be ascending: " + Arrays.toString(thresholds));
+            }
+        }
+        this.thresholds = thresholds.clone();
+        this.hints = new byte[Integer.highestOneBit(Math.max(1, hintSlots - 1) << 1)];
+        this.hintMask = hints.length - 1;
+    }
+
+    public MembershipTier tierOf(final long lifetimePoint) {
+        final int found = Arrays.binarySearch(thresholds, lifetimePoint);
+        // 정확히 일치하지 않으면 삽입 위치 바로 앞 구간
+        return TIERS[found >= 0 ? found : Math.max(0, -found - 2)];
+    }
+
+    // 이 등급을 유지하는 누적 포인트 상한(미포함). 최상위 등급은 상한이 없다.
+    public long ceilingOf(final MembershipTier tier) {
+        final int next = tier.ordinal() + 1;
+        return next < thresholds.length ? thresholds[next] : Long.MAX_VALUE;
+    }
+
+    public MembershipTier hintOf(final long membershipId) {
+        return TIERS[hints[slotOf(membershipId)]];
+    }
+
+    public void remember(final long membershipId, final MembershipTier tier) {
+        hints[slotOf(membershipId)] = (byte) tier.ordinal();
+    }
+
+    private int slotOf(final long membershipId) {
+        // Snowflake id 는 하위 비트가 순번이라 그대로 자르면 같은 시각에 만든 멤버십이 한 슬롯에 몰린다.
+        final long mixed = membershipId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & hintMask;
+    }
+}
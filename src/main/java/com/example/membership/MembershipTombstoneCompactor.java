@@ -0,0 +1,74 @@
+package com.example.membership;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * retention 이 지난 tombstone 을 id 순 keyset 청크로 읽어, 청크마다 별도 트랜잭션에서 멤버십 행과 포인트 lot 을 지운다.
+ * 잠금 순서 규칙에 맞춰 멤버십 행을 먼저 지우고 lot 을 지운다.
+ */
+@Slf4j
+@Component
+public class MembershipTombstoneCompactor {
+
+    private final MembershipRepository membershipRepository;
+    private final PointLotRepository pointLotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+
+    public MembershipTombstoneCompactor(
+            final MembershipRepository membershipRepository,
+            final PointLotRepository pointLotRepository,
+            final PlatformTransactionManager transactionManager,
+            @Value("${membership.tombstone.retention:1h}") final Duration retention,
+            @Value("${membership.tombstone.compact-batch-size:500}") final int batchSize) {
+        this.membershipRepository = membershipRepository;
+        this.pointLotRepository = pointLotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${membership.tombstone.compact-cron:0 20 4 * * *}")
+    public void scheduledCompact() {
+        log.info("Membership tombstone compaction finished. purged: {}", compact(LocalDateTime.now().minus(retention)));
+    }
+
+    public int compact(final LocalDateTime before) {
+        int purged = 0;
+
+        long afterId = 0L;
+        while (true) {
+            final List<Long> ids = membershipRepository.findTombstoneIds(before, afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            purged += purgeChunk(ids);
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private int purgeChunk(final List<Long> ids) {
+        final Integer purged = transactionTemplate.execute(status -> {
+            final int deleted = membershipRepository.purgeTombstones(ids);
+            pointLotRepository.deleteByMembershipIds(ids);
+            return deleted;
+        });
+        return purged == null ? 0 : purged;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.membership;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+
+@Configuration
+public class MembershipTracingConfig {
+
+    /**
+     * collector 없이 span 을 로그로 확인한다. OTLP endpoint 와 함께 켜면 양쪽으로 모두 내보낸다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "membership.tracing.log-exporter.enabled", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.membership;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+@Builder
+@NoArgsConstructor(force = true)
+public class MembershipTransferRequest {
+    @NotNull
+    private final Long targetMembershipId;
+
+    @NotNull
+    @Positive
+    private final Integer point;
+}
@@ -0,0 +1,101 @@
+package com.example.membership;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 같은 사용자의 MembershipService 쓰기(get* 과 적립 외)를 한 번에 하나씩 실행한다. userId 해시로 고른 stripe 의
+ * ReentrantLock 을 잡으므로 메모리는 stripe 수로 고정되고, 다른 사용자끼리는 같은 stripe 에 걸리지 않는 한 병렬로 돈다.
+ * ReentrantLock 대기는 가상 스레드를 carrier 에 고정하지 않는다(synchronized 와 다름).
+ *
+ * <p>트랜잭션 advisor 와 MembershipPersistenceGuard 보다 바깥에서 실행되므로 잠금은 커밋 뒤에 풀리고, 잠금을 기다리는
+ * 동안에는 커넥션도 bulkhead 슬롯도 잡지 않는다. 그래서 같은 사용자의 다음 요청은 앞 요청의 커밋 결과를 본다.
+ * wait-timeout 안에 잠금을 못 잡으면 USER_REQUEST_BUSY 로 거절한다.
+ *
+ * <p>적립은 순서와 관계없이 더해지는 원자적 증가라 잠그지 않는다. 핫 멤버십 적립은 한 사용자에게 몰리므로 잠금을
+ * 잡으면 lock-free 저장소 앞에서 줄을 서고, 등급이 바뀌는 적립은 멤버십 행 잠금이 직렬화한다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class MembershipUserLock {
+
+    private static final int NO_USER = -1;
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long waitTimeoutNanos;
+    // 메서드별 userId 파라미터 위치
+    private final Map<Method, Integer> userIdIndexes = new ConcurrentHashMap<>();
+
+    public MembershipUserLock(
+            @Value("${membership.user-lock.stripes:1024}") final int stripes,
+            @Value("${membership.user-lock.wait-timeout:2s}") final Duration waitTimeout) {
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1) << 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = this.stripes.length - 1;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    @Around("execution(public * com.example.membership.MembershipService.*(..)) "
+            + "&& !execution(public * com.example.membership.MembershipService.get*(..)) "
+            + "&& !execution(public * com.example.membership.MembershipService.accumulateMembershipPoint(..))")
+    public Object serialize(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final int index = userIdIndexes.computeIfAbsent(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), MembershipUserLock::userIdIndexOf);
+        if (index == NO_USER || !(joinPoint.getArgs()[index] instanceof String userId)) {
+            return joinPoint.proceed();
+        }
+
+        final Lock lock = acquire(userId);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Lock acquire(final String userId) throws InterruptedException {
+        final ReentrantLock lock = stripes[stripeOf(userId)];
+        if (!lock.tryLock(waitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            log.warn("Membership user lock wait timed out. queued: {}", lock.getQueueLength());
+            throw new MembershipException(MembershipErrorResult.USER_REQUEST_BUSY);
+        }
+        return lock;
+    }
+
+    int stripeOf(final String userId) {
+        // String.hashCode 하위 비트는 비슷한 id 끼리 몰리므로 섞어서 자른다.
+        final int hash = userId.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int userIdIndexOf(final Method method) {
+        final String[] names = PARAMETER_NAMES.getParameterNames(method);
+        final int index = names == null ? -1 : Arrays.asList(names).indexOf("userId");
+        return index < 0 ? NO_USER : index;
+    }
+}
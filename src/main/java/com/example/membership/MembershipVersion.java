@@ -0,0 +1,23 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 멤버십 단건의 변경 여부를 판단하기 위한 최소 컬럼 projection. 엔티티를 로딩하지 않고 ETag 를 만든다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MembershipVersion {
+    private final Long id;
+    private final String userId;
+    private final Long point;
+    private final LocalDateTime updatedAt;
+
+    // pending: 핫 잔액에 쌓여 조회 응답에만 더해지는 미반영 적립
+    public String toETag(final long pending) {
+        return MembershipETags.strong(id, point, MembershipETags.epochNanos(updatedAt), pending);
+    }
+}
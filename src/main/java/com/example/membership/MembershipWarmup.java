@@ -0,0 +1,132 @@
+package com.example.membership;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 직후 커넥션 풀을 채우고 자주 쓰는 서비스 경로를 미리 돌려 JIT, Hibernate 쿼리 plan 캐시, Jackson serializer
+ * 캐시를 데운다. ApplicationRunner 가 모두 끝나야 readiness 가 ACCEPTING_TRAFFIC 이 되므로 그 전에 끝난다.
+ * 존재하지 않는 멤버십/사용자로만 호출하므로 데이터는 바뀌지 않는다. 기본은 꺼져 있고 배포 프로필(prod)에서만 켠다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "membership.warmup.enabled", havingValue = "true", matchIfMissing = false)
+public class MembershipWarmup implements ApplicationRunner {
+
+    private static final String WARMUP_USER_ID = "membership-warmup";
+    private static final Long WARMUP_MEMBERSHIP_ID = -1L;
+
+    private final DataSource dataSource;
+    private final MembershipService membershipService;
+    private final ObjectMapper objectMapper;
+    private final int connections;
+    private final int iterations;
+    private final Duration deadline;
+
+    public MembershipWarmup(
+            final DataSource dataSource,
+            final MembershipService membershipService,
+            final ObjectMapper objectMapper,
+            @Value("${membership.warmup.connections:10}") final int connections,
+            @Value("${membership.warmup.iterations:500}") final int iterations,
+            @Value("${membership.warmup.deadline:10s}") final Duration deadline) {
+        this.dataSource = dataSource;
+        this.membershipService = membershipService;
+        this.objectMapper = objectMapper;
+        this.connections = connections;
+        this.iterations = iterations;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final long started = System.nanoTime();
+        final int opened = openConnections();
+        int exercised = 0;
+        try {
+            exercised = exercise(started + deadline.toNanos());
+        } catch (RuntimeException e) {
+            // 데우기 실패로 기동을 막지는 않는다.
+            log.warn("Warm-up stopped early: ", e);
+        }
+        log.info(
+                "Warm-up finished. connections: {}, iterations: {}, elapsed: {}ms",
+                opened,
+                exercised,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // 풀은 기동 뒤 비동기로 채워지므로 한꺼번에 빌려 실제로 연결을 맺어 둔다.
+    private int openConnections() {
+        final List<Connection> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                borrowed.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Warm-up could not open all connections. opened: {}", borrowed.size(), e);
+        } finally {
+            for (final Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Warm-up connection close failed: ", e);
+                }
+            }
+        }
+        return borrowed.size();
+    }
+
+    private int exercise(final long deadlineAt) {
+        int exercised = 0;
+        while (exercised < iterations && System.nanoTime() < deadlineAt) {
+            membershipService.getMembershipList(WARMUP_USER_ID);
+            membershipService.getMembershipListETag(WARMUP_USER_ID);
+            membershipService.getMembershipSummary(WARMUP_USER_ID);
+            expectRejection(() -> membershipService.getMembershipETag(WARMUP_MEMBERSHIP_ID, WARMUP_USER_ID));
+            expectRejection(() -> membershipService.getMembership(WARMUP_MEMBERSHIP_ID, WARMUP_USER_ID));
+            // 조건부 UPDATE 가 0 행이라 실패 경로까지 돌고 롤백된다.
+            expectRejection(() ->
+                    membershipService.accumulateMembershipPoint(WARMUP_MEMBERSHIP_ID, WARMUP_USER_ID, 1000));
+            exercised++;
+        }
+
+        try {
+            objectMapper.writeValueAsBytes(List.of(MembershipDetailResponse.builder()
+                    .id(WARMUP_MEMBERSHIP_ID)
+                    .membershipType(MembershipType.NAVER)
+                    .point(0L)
+                    .tier(MembershipTier.BRONZE)
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+        } catch (JsonProcessingException e) {
+            log.warn("Warm-up serialization failed: ", e);
+        }
+        return exercised;
+    }
+
+    private static void expectRejection(final Runnable call) {
+        try {
+            call.run();
+        } catch (MembershipException expected) {
+            // 없는 멤버십이라 거절되는 것이 정상
+        }
+    }
+}
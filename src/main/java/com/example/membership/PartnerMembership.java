@@ -0,0 +1,25 @@
+package com.example.membership;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 제휴사가 내려주는 멤버십 정보. degraded 면 제휴사 응답이 제한 시간 안에 오지 않아 캐시된 값이거나 비어 있다.
+ */
+@Getter
+@RequiredArgsConstructor
+@Builder(toBuilder = true)
+public class PartnerMembership {
+    private final MembershipType membershipType;
+    private final String tier;
+    private final Long partnerPoint;
+    private final boolean degraded;
+
+    public static PartnerMembership unavailable(final MembershipType membershipType) {
+        return PartnerMembership.builder()
+                .membershipType(membershipType)
+                .degraded(true)
+                .build();
+    }
+}
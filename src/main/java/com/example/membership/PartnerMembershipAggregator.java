@@ -0,0 +1,182 @@
+package com.example.membership;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자가 가진 멤버십 종류의 제휴사를 가상 스레드에서 동시에 호출한다. 전체 지연은 가장 느린 제휴사 하나로 묶이고,
+ * 제한 시간을 넘긴 제휴사는 마지막으로 받은 값(없으면 빈 값)을 degraded 로 돌려준다.
+ * 늦게 도착한 응답도 캐시에 남겨 다음 요청에서 쓴다. 캐시는 제휴사별 LRU 로 cache-max-entries 를 넘으면
+ * 가장 오래 안 쓴 사용자부터 밀어낸다.
+ * <p>
+ * 목록 ETag 는 {@link #versionOf} 로 캐시된 제휴사 값의 해시를 함께 담는다. 만료된 값은 이때 백그라운드로 다시
+ * 받아 두므로 제휴사 값이 바뀌면 다음 재검증에서 ETag 가 달라진다.
+ */
+@Slf4j
+@Component
+public class PartnerMembershipAggregator {
+
+    private final Map<MembershipType, PartnerMembershipProvider> providers = new EnumMap<>(MembershipType.class);
+    private final Map<MembershipType, Map<String, CachedPartnerMembership>> caches =
+            new EnumMap<>(MembershipType.class);
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration timeout;
+    private final Duration cacheTtl;
+    private final Clock clock;
+
+    @Autowired
+    public PartnerMembershipAggregator(
+            final List<PartnerMembershipProvider> providers,
+            @Value("${membership.partner.timeout:300ms}") final Duration timeout,
+            @Value("${membership.partner.cache-ttl:30s}") final Duration cacheTtl,
+            @Value("${membership.partner.cache-max-entries:10000}") final int cacheMaxEntries) {
+        this(providers, timeout, cacheTtl, cacheMaxEntries, Clock.systemUTC());
+    }
+
+    PartnerMembershipAggregator(
+            final List<PartnerMembershipProvider> providers,
+            final Duration timeout,
+            final Duration cacheTtl,
+            final int cacheMaxEntries,
+            final Clock clock) {
+        for (final PartnerMembershipProvider provider : providers) {
+            this.providers.put(provider.getMembershipType(), provider);
+            this.caches.put(provider.getMembershipType(), lruCache(cacheMaxEntries));
+        }
+        this.timeout = timeout;
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
+    }
+
+    public Map<MembershipType, PartnerMembership> fetchAll(
+            final String userId, final Collection<MembershipType> membershipTypes) {
+        final Map<MembershipType, CompletableFuture<PartnerMembership>> calls = new EnumMap<>(MembershipType.class);
+        for (final MembershipType membershipType : membershipTypes) {
+            if (providers.containsKey(membershipType) && !calls.containsKey(membershipType)) {
+                calls.put(membershipType, call(membershipType, userId));
+            }
+        }
+
+        CompletableFuture.allOf(calls.values().toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+
+        final Map<MembershipType, PartnerMembership> result = new EnumMap<>(MembershipType.class);
+        calls.forEach((membershipType, call) -> result.put(membershipType, call.join()));
+        return result;
+    }
+
+    private CompletableFuture<PartnerMembership> call(final MembershipType membershipType, final String userId) {
+        final CachedPartnerMembership cached = caches.get(membershipType).get(userId);
+        if (cached != null && !cached.isExpired(clock.instant(), cacheTtl)) {
+            return CompletableFuture.completedFuture(cached.value);
+        }
+
+        return CompletableFuture.supplyAsync(() -> fetchAndCache(membershipType, userId), executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Partner call degraded. type: {}, cause: {}", membershipType, e.toString());
+                    final PartnerMembership fallback = cached == null
+                            ? PartnerMembership.unavailable(membershipType)
+                            : cached.value.toBuilder().degraded(true).build();
+                    // 내려준 degraded 상태가 ETag 에도 보이도록 만료된 항목으로 남긴다. 그 사이 늦은 응답이 먼저
+                    // 캐시를 채웠으면 덮어쓰지 않는다.
+                    caches.get(membershipType).compute(userId, (key, current) -> current == cached
+                            ? new CachedPartnerMembership(fallback, Instant.EPOCH)
+                            : current);
+                    return fallback;
+                });
+    }
+
+    private PartnerMembership fetchAndCache(final MembershipType membershipType, final String userId) {
+        final PartnerMembership fetched = providers.get(membershipType).fetch(userId);
+        caches.get(membershipType).put(userId, new CachedPartnerMembership(fetched, clock.instant()));
+        return fetched;
+    }
+
+    /**
+     * 사용자에 대해 캐시된 제휴사 값(등급, 포인트, degraded)의 해시. 제휴사를 기다리지 않으며, 만료된 값은
+     * 백그라운드에서 다시 받아 다음 호출의 해시에 반영한다.
+     */
+    public long versionOf(final String userId) {
+        final Instant now = clock.instant();
+        long version = 1;
+        for (final Map.Entry<MembershipType, Map<String, CachedPartnerMembership>> entry : caches.entrySet()) {
+            final CachedPartnerMembership cached = entry.getValue().get(userId);
+            if (cached == null) {
+                continue;
+            }
+            if (cached.isExpired(now, cacheTtl)) {
+                refreshInBackground(entry.getKey(), userId);
+            }
+            final PartnerMembership value = cached.value;
+            version = 31 * version
+                    + Objects.hash(entry.getKey(), value.getTier(), value.getPartnerPoint(), value.isDegraded());
+        }
+        return version;
+    }
+
+    private void refreshInBackground(final MembershipType membershipType, final String userId) {
+        final String key = membershipType.name() + ':' + userId;
+        if (!refreshing.add(key)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                fetchAndCache(membershipType, userId);
+            } catch (RuntimeException e) {
+                log.debug("Partner refresh failed. type: {}, cause: {}", membershipType, e.toString());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private static Map<String, CachedPartnerMembership> lruCache(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedPartnerMembership> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedPartnerMembership {
+        private final PartnerMembership value;
+        private final Instant fetchedAt;
+
+        private boolean isExpired(final Instant now, final Duration ttl) {
+            return !now.isBefore(fetchedAt.plus(ttl));
+        }
+    }
+}
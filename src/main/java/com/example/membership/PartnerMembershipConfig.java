@@ -0,0 +1,29 @@
+package com.example.membership;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PartnerMembershipConfig {
+
+    @Bean
+    public PartnerMembershipProvider naverPartnerMembershipProvider(
+            @Value("${membership.partner.stub-latency.naver:30ms}") final Duration latency) {
+        return new StubPartnerMembershipProvider(MembershipType.NAVER, latency);
+    }
+
+    @Bean
+    public PartnerMembershipProvider kakaoPartnerMembershipProvider(
+            @Value("${membership.partner.stub-latency.kakao:30ms}") final Duration latency) {
+        return new StubPartnerMembershipProvider(MembershipType.KAKAO, latency);
+    }
+
+    @Bean
+    public PartnerMembershipProvider linePartnerMembershipProvider(
+            @Value("${membership.partner.stub-latency.line:30ms}") final Duration latency) {
+        return new StubPartnerMembershipProvider(MembershipType.LINE, latency);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.membership;
+
+/**
+ * 멤버십 종류별 제휴사 조회 SPI. 구현체는 종류마다 하나씩 빈으로 등록한다.
+ */
+public interface PartnerMembershipProvider {
+
+    MembershipType getMembershipType();
+
+    PartnerMembership fetch(final String userId);
+}
@@ -0,0 +1,17 @@
+package com.example.membership;
+
+import java.time.LocalDate;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 만료 버킷의 금액 projection. 엔티티를 영속성 컨텍스트에 올리지 않고 차감 계산에 쓴다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PointBucket {
+    private final Long id;
+    private final LocalDate expiresOn;
+    private final Long amount;
+}
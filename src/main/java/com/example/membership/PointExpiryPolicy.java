@@ -0,0 +1,36 @@
+package com.example.membership;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 적립 월 기준으로 만료 버킷을 정한다. 1월에 적립한 포인트는 expiry-months 가 12 면 다음 해 2월 1일에 만료된다.
+ */
+@Component
+public class PointExpiryPolicy {
+
+    private final int expiryMonths;
+    private final Clock clock;
+
+    @Autowired
+    public PointExpiryPolicy(@Value("${membership.point.expiry-months:12}") final int expiryMonths) {
+        this(expiryMonths, Clock.systemDefaultZone());
+    }
+
+    PointExpiryPolicy(final int expiryMonths, final Clock clock) {
+        this.expiryMonths = expiryMonths;
+        this.clock = clock;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public LocalDate expiresOn(final LocalDate earnedOn) {
+        return earnedOn.withDayOfMonth(1).plusMonths(expiryMonths + 1L);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.membership;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 만료일이 지난 포인트 버킷을 keyset 페이지 단위로 읽어, 페이지마다 별도 트랜잭션에서 잔액 차감 후 버킷을 삭제한다.
+ * 동시에 처리되는 페이지 수는 parallelism 으로 제한한다.
+ */
+@Slf4j
+@Component
+public class PointExpirySweeper {
+
+    private final PointLotRepository pointLotRepository;
+    private final MembershipRepository membershipRepository;
+    private final PointExpiryPolicy pointExpiryPolicy;
+    private final MembershipSummaryService membershipSummaryService;
+    private final MembershipOutbox membershipOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int parallelism;
+
+    public PointExpirySweeper(
+            final PointLotRepository pointLotRepository,
+            final MembershipRepository membershipRepository,
+            final PointExpiryPolicy pointExpiryPolicy,
+            final MembershipSummaryService membershipSummaryService,
+            final MembershipOutbox membershipOutbox,
+            final PlatformTransactionManager transactionManager,
+            @Value("${membership.point.expiry-batch-size:500}") final int batchSize,
+            @Value("${membership.point.expiry-parallelism:4}") final int parallelism) {
+        this.pointLotRepository = pointLotRepository;
+        this.membershipRepository = membershipRepository;
+        this.pointExpiryPolicy = pointExpiryPolicy;
+        this.membershipSummaryService = membershipSummaryService;
+        this.membershipOutbox = membershipOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${membership.point.expiry-sweep-cron:0 10 3 * * *}")
+    public void sweep() {
+        final int expired = sweep(pointExpiryPolicy.today());
+        log.info("Point expiry sweep finished. expired lots: {}", expired);
+    }
+
+    public int sweep(final LocalDate today) {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        final Semaphore inFlight = new Semaphore(parallelism);
+        final AtomicInteger expired = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            LocalDate afterExpiresOn = LocalDate.EPOCH;
+            Long afterId = 0L;
+            while (true) {
+                final List<PointLot> page = pointLotRepository.findExpiredAfter(
+                        today, afterExpiresOn, afterId, PageRequest.of(0, batchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                final PointLot last = page.get(page.size() - 1);
+                afterExpiresOn = last.getExpiresOn();
+                afterId = last.getId();
+
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        expired.addAndGet(expireBatch(page));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+
+                if (page.size() < batchSize) {
+                    break;
+                }
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Point expiry sweep failed: ", e);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        return expired.get();
+    }
+
+    /**
+     * 다른 쓰기 경로와 같은 잠금 순서(멤버십 행 id 오름차순 → lot → rollup userId 오름차순 → outbox)로 반영한다.
+     * 배치의 멤버십 행을 모두 먼저 잠그고 버킷 금액을 다시 읽는다. 버킷은 멤버십 잠금을 가진 트랜잭션만 바꾸므로
+     * 잠금 이후 읽은 금액은 확정값이다. 차감액은 잠근 잔액을 lot 마다 줄여 가며 실제로 빠진 만큼만 rollup/outbox 에 남기고,
+     * rollup 은 사용자별로 모아 마지막에 반영한다.
+     */
+    private int expireBatch(final List<PointLot> lots) {
+        final List<PointLot> ordered = new ArrayList<>(lots);
+        ordered.sort(Comparator.comparing(PointLot::getMembershipId).thenComparing(PointLot::getId));
+
+        final Integer expired = transactionTemplate.execute(status -> {
+            final LocalDateTime now = LocalDateTime.now();
+            final Map<Long, Membership> locked = new HashMap<>();
+            final Map<Long, Long> balances = new HashMap<>();
+            for (final PointLot lot : ordered) {
+                if (!locked.containsKey(lot.getMembershipId())) {
+                    final Membership membership =
+                            membershipRepository.findForUpdateById(lot.getMembershipId()).orElse(null);
+                    locked.put(lot.getMembershipId(), membership);
+                    if (membership != null) {
+                        balances.put(membership.getId(), membership.getPoint());
+                    }
+                }
+            }
+
+            final Map<String, Long> userDeltas = new TreeMap<>();
+            final List<PointLot> expiredLots = new ArrayList<>();
+            final List<Long> expiredPoints = new ArrayList<>();
+            for (final PointLot lot : ordered) {
+                final Membership membership = locked.get(lot.getMembershipId());
+                if (membership == null) {
+                    pointLotRepository.deleteLot(lot.getId());
+                    continue;
+                }
+                final Long amount = pointLotRepository.findAmountById(lot.getId()).orElse(null);
+                if (amount == null) {
+                    continue;
+                }
+                // expirePoint 는 bulk update 라 영속성 컨텍스트의 엔티티 잔액은 갱신되지 않는다.
+                final long balance = balances.get(membership.getId());
+                final long expiredPoint = Math.min(amount, balance);
+                balances.put(membership.getId(), balance - expiredPoint);
+                membershipRepository.expirePoint(lot.getMembershipId(), amount, now);
+                pointLotRepository.deleteLot(lot.getId());
+                userDeltas.merge(membership.getUserId(), -expiredPoint, Long::sum);
+                expiredLots.add(lot);
+                expiredPoints.add(expiredPoint);
+            }
+
+            userDeltas.forEach((userId, delta) -> membershipSummaryService.apply(userId, 0, delta));
+            for (int i = 0; i < expiredLots.size(); i++) {
+                final PointLot lot = expiredLots.get(i);
+                membershipOutbox.append(
+                        lot.getMembershipId(),
+                        locked.get(lot.getMembershipId()).getUserId(),
+                        MembershipEventType.EXPIRED,
+                        -expiredPoints.get(i));
+            }
+            return expiredLots.size();
+        });
+        return expired == null ? 0 : expired;
+    }
+
+    private static void awaitTermination(final ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.membership;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class PointLot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long membershipId;
+
+    // 이 날짜(해당 월 1일)가 되면 만료
+    @Column(nullable = false)
+    private LocalDate expiresOn;
+
+    @Column(nullable = false)
+    private Long amount;
+}
@@ -0,0 +1,59 @@
+package com.example.membership;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PointLotRepository extends JpaRepository<PointLot, Long> {
+
+    @Modifying
+    @Query(
+            value = "insert into point_lot (membership_id, expires_on, amount) values (:membershipId, :expiresOn, :amount) "
+                    + "on duplicate key update amount = amount + values(amount)",
+            nativeQuery = true)
+    int accrue(
+            @Param("membershipId") final Long membershipId,
+            @Param("expiresOn") final LocalDate expiresOn,
+            @Param("amount") final long amount);
+
+    // (expires_on, id) 인덱스 순서 그대로 읽도록 커서도 같은 키로 잡는다.
+    @Query("select l from PointLot l where l.expiresOn <= :today and (l.expiresOn > :afterExpiresOn "
+            + "or (l.expiresOn = :afterExpiresOn and l.id > :afterId)) order by l.expiresOn, l.id")
+    List<PointLot> findExpiredAfter(
+            @Param("today") final LocalDate today,
+            @Param("afterExpiresOn") final LocalDate afterExpiresOn,
+            @Param("afterId") final Long afterId,
+            final Pageable pageable);
+
+    @Query("select new com.example.membership.PointBucket(l.id, l.expiresOn, l.amount) from PointLot l "
+            + "where l.membershipId = :membershipId order by l.expiresOn")
+    List<PointBucket> findBucketsByMembershipId(@Param("membershipId") final Long membershipId);
+
+    @Query("select new com.example.membership.PointLotSum(l.membershipId, sum(l.amount)) from PointLot l "
+            + "where l.membershipId between :fromId and :toId group by l.membershipId")
+    List<PointLotSum> sumByMembershipIdBetween(@Param("fromId") final long fromId, @Param("toId") final long toId);
+
+    @Query("select coalesce(sum(l.amount), 0) from PointLot l where l.membershipId = :membershipId")
+    long sumByMembershipId(@Param("membershipId") final Long membershipId);
+
+    @Modifying
+    @Query("update PointLot l set l.amount = l.amount - :amount where l.id = :id")
+    int deduct(@Param("id") final Long id, @Param("amount") final long amount);
+
+    @Modifying
+    @Query("delete from PointLot l where l.membershipId in :membershipIds")
+    int deleteByMembershipIds(@Param("membershipIds") final List<Long> membershipIds);
+
+    @Query("select l.amount from PointLot l where l.id = :id")
+    Optional<Long> findAmountById(@Param("id") final Long id);
+
+    @Modifying
+    @Query("delete from PointLot l where l.id = :id")
+    int deleteLot(@Param("id") final Long id);
+}
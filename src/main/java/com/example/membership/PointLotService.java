@@ -0,0 +1,70 @@
+package com.example.membership;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Service
+public class PointLotService {
+
+    private final PointLotRepository pointLotRepository;
+    private final PointExpiryPolicy pointExpiryPolicy;
+
+    /**
+     * 오늘 적립분이 속한 만료 버킷에 더한다. 버킷 행이 없으면 만들고, 있으면 같은 문장에서 원자적으로 누적한다.
+     */
+    public void accrue(final Long membershipId, final long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        pointLotRepository.accrue(membershipId, pointExpiryPolicy.expiresOn(pointExpiryPolicy.today()), amount);
+    }
+
+    /**
+     * 치운 tombstone 의 버킷을 지운다. 잠금 순서에 맞춰 같은 트랜잭션에서 멤버십 행을 먼저 지운 뒤 호출한다.
+     */
+    public void discard(final List<Long> membershipIds) {
+        pointLotRepository.deleteByMembershipIds(membershipIds);
+    }
+
+    /**
+     * 만료가 가까운 버킷부터 차감한다. 호출 전에 같은 트랜잭션에서 멤버십 행을 갱신(잠금)해 두어야 한다.
+     * 버킷 합보다 많이 차감하면 나머지는 버킷 도입 이전의 잔액으로 보고 무시한다.
+     *
+     * @return 버킷별로 실제 차감한 양
+     */
+    public List<PointBucket> consume(final Long membershipId, final long amount) {
+        final List<PointBucket> consumed = new ArrayList<>();
+        long remaining = amount;
+        for (final PointBucket bucket : pointLotRepository.findBucketsByMembershipId(membershipId)) {
+            if (remaining <= 0) {
+                break;
+            }
+            final long taken = Math.min(remaining, bucket.getAmount());
+            if (taken == bucket.getAmount()) {
+                pointLotRepository.deleteLot(bucket.getId());
+            } else {
+                pointLotRepository.deduct(bucket.getId(), taken);
+            }
+            consumed.add(new PointBucket(bucket.getId(), bucket.getExpiresOn(), taken));
+            remaining -= taken;
+        }
+        return consumed;
+    }
+
+    /**
+     * 다른 멤버십에서 차감한 버킷을 만료일을 유지한 채 옮겨 받는다. 버킷으로 설명되지 않는 나머지는 오늘 적립분으로 넣는다.
+     */
+    public void receive(final Long membershipId, final long amount, final List<PointBucket> buckets) {
+        long remaining = amount;
+        for (final PointBucket bucket : buckets) {
+            pointLotRepository.accrue(membershipId, bucket.getExpiresOn(), bucket.getAmount());
+            remaining -= bucket.getAmount();
+        }
+        accrue(membershipId, remaining);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.membership;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 멤버십별 버킷 금액 합계 projection. 정합성 점검에서 청크 단위로 한 번에 읽는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PointLotSum {
+    private final Long membershipId;
+    private final Long amount;
+}
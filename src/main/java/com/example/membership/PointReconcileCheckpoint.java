@@ -0,0 +1,48 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class PointReconcileCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String runId;
+
+    @Column(nullable = false)
+    private Integer partitionNo;
+
+    // 파티션 구간은 (처음 last_id, upper_id]
+    @Column(nullable = false)
+    private Long upperId;
+
+    @Column(nullable = false)
+    private Long lastId;
+
+    @Column(nullable = false)
+    private Long scanned;
+
+    @Column(nullable = false)
+    private Long drifted;
+
+    @Column(nullable = false)
+    private Long repaired;
+
+    @Column(nullable = false)
+    private Boolean finished;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
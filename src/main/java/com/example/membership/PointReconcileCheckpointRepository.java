@@ -0,0 +1,32 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PointReconcileCheckpointRepository extends JpaRepository<PointReconcileCheckpoint, Long> {
+
+    List<PointReconcileCheckpoint> findAllByRunIdOrderByPartitionNo(final String runId);
+
+    // 청크를 끝낸 트랜잭션에서 같이 올린다. 재시작하면 last_id 다음부터 이어 간다.
+    @Modifying
+    @Query("update PointReconcileCheckpoint c set c.lastId = :lastId, c.scanned = c.scanned + :scanned, "
+            + "c.drifted = c.drifted + :drifted, c.repaired = c.repaired + :repaired, c.finished = :finished, "
+            + "c.updatedAt = :now where c.id = :id and c.lastId < :lastId")
+    int advance(
+            @Param("id") final Long id,
+            @Param("lastId") final long lastId,
+            @Param("scanned") final long scanned,
+            @Param("drifted") final long drifted,
+            @Param("repaired") final long repaired,
+            @Param("finished") final boolean finished,
+            @Param("now") final LocalDateTime now);
+
+    @Modifying
+    @Query("update PointReconcileCheckpoint c set c.finished = true, c.updatedAt = :now where c.id = :id")
+    int finish(@Param("id") final Long id, @Param("now") final LocalDateTime now);
+}
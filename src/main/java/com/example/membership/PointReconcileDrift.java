@@ -0,0 +1,43 @@
+package com.example.membership;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.*;
+
+@Entity
+@Table
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class PointReconcileDrift {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String runId;
+
+    @Column(nullable = false)
+    private Long membershipId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    // membership.point
+    @Column(nullable = false)
+    private Long recordedPoint;
+
+    // point_lot.amount 합계
+    @Column(nullable = false)
+    private Long accruedPoint;
+
+    @Column(nullable = false)
+    private Boolean repaired;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+}
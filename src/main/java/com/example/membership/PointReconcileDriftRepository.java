@@ -0,0 +1,10 @@
+package com.example.membership;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PointReconcileDriftRepository extends JpaRepository<PointReconcileDrift, Long> {
+
+    List<PointReconcileDrift> findAllByRunIdOrderById(final String runId);
+}
@@ -0,0 +1,17 @@
+package com.example.membership;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// run 전체 누계. 재시작한 run 이면 중단 전에 처리한 청크도 포함된다.
+@Getter
+@RequiredArgsConstructor
+@Builder
+public class PointReconcileReport {
+    private final String runId;
+    private final long scanned;
+    private final long drifted;
+    private final long repaired;
+    private final long elapsedMillis;
+}
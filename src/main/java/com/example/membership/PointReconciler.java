@@ -0,0 +1,258 @@
+package com.example.membership;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * membership.point 가 point_lot 버킷 합과 같은지 점검한다. id 구간을 파티션으로 나눠 파티션마다 한 스레드가
+ * 청크 단위로 읽고, 청크를 끝낼 때마다 같은 트랜잭션에서 복구/리포트/체크포인트를 함께 커밋한다.
+ * 같은 runId 로 다시 부르면 체크포인트 다음부터 이어 간다.
+ *
+ * <p>잔액이 버킷 합보다 작으면 적립 반영이 유실된 것으로 보고 버킷 합까지 올린다. 잔액이 더 크면 버킷 도입 이전
+ * 잔액일 수 있으므로 리포트만 남긴다. 유실된 적립도 rollup 에는 이미 더해졌으므로 rollup 은 건드리지 않고,
+ * 다른 원인으로 어긋난 rollup 은 MembershipSummaryReconciler 가 잔액 기준으로 맞춘다.
+ */
+@Slf4j
+@Component
+public class PointReconciler {
+
+    private final MembershipRepository membershipRepository;
+    private final PointLotRepository pointLotRepository;
+    private final PointReconcileCheckpointRepository checkpointRepository;
+    private final PointReconcileDriftRepository driftRepository;
+    private final MembershipOutbox membershipOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final int chunkSize;
+    private final boolean repair;
+
+    public PointReconciler(
+            final MembershipRepository membershipRepository,
+            final PointLotRepository pointLotRepository,
+            final PointReconcileCheckpointRepository checkpointRepository,
+            final PointReconcileDriftRepository driftRepository,
+            final MembershipOutbox membershipOutbox,
+            final PlatformTransactionManager transactionManager,
+            @Value("${membership.reconcile.partitions:4}") final int partitions,
+            @Value("${membership.reconcile.chunk-size:1000}") final int chunkSize,
+            @Value("${membership.reconcile.repair:true}") final boolean repair) {
+        this.membershipRepository = membershipRepository;
+        this.pointLotRepository = pointLotRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.driftRepository = driftRepository;
+        this.membershipOutbox = membershipOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitions = partitions;
+        this.chunkSize = chunkSize;
+        this.repair = repair;
+    }
+
+    // 하루에 한 run. 도중에 죽으면 같은 날 다시 돌 때 이어서 처리한다.
+    @Scheduled(cron = "${membership.reconcile.cron:0 0 5 * * *}")
+    public void scheduledReconcile() {
+        final PointReconcileReport report = reconcile(LocalDate.now().toString());
+        log.info(
+                "Point reconciliation finished. runId: {}, scanned: {}, drifted: {}, repaired: {}, elapsed: {}ms",
+                report.getRunId(),
+                report.getScanned(),
+                report.getDrifted(),
+                report.getRepaired(),
+                report.getElapsedMillis());
+    }
+
+    public PointReconcileReport reconcile(final String runId) {
+        final long started = System.nanoTime();
+        final List<PointReconcileCheckpoint> checkpoints = checkpointsOf(runId);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, checkpoints.size()));
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final PointReconcileCheckpoint checkpoint : checkpoints) {
+                if (!checkpoint.getFinished()) {
+                    futures.add(executor.submit(() -> reconcilePartition(runId, checkpoint)));
+                }
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Point reconciliation failed. runId: {}", runId, e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long scanned = 0;
+        long drifted = 0;
+        long repaired = 0;
+        for (final PointReconcileCheckpoint checkpoint : checkpointRepository.findAllByRunIdOrderByPartitionNo(runId)) {
+            scanned += checkpoint.getScanned();
+            drifted += checkpoint.getDrifted();
+            repaired += checkpoint.getRepaired();
+        }
+        return PointReconcileReport.builder()
+                .runId(runId)
+                .scanned(scanned)
+                .drifted(drifted)
+                .repaired(repaired)
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * 처음 도는 run 이면 현재 id 범위를 파티션 수로 나눠 체크포인트를 만든다. 재시작이면 저장된 구간을 그대로 쓴다.
+     */
+    private List<PointReconcileCheckpoint> checkpointsOf(final String runId) {
+        final List<PointReconcileCheckpoint> existing = checkpointRepository.findAllByRunIdOrderByPartitionNo(runId);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        final Long minId = membershipRepository.findMinId();
+        final Long maxId = membershipRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return List.of();
+        }
+
+        final long span = maxId - minId + 1;
+        final int count = (int) Math.min(partitions, span);
+        final LocalDateTime now = LocalDateTime.now();
+        final List<PointReconcileCheckpoint> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(PointReconcileCheckpoint.builder()
+                    .runId(runId)
+                    .partitionNo(i)
+                    .lastId(minId - 1 + boundaryOf(span, i, count))
+                    .upperId(minId - 1 + boundaryOf(span, i + 1, count))
+                    .scanned(0L)
+                    .drifted(0L)
+                    .repaired(0L)
+                    .finished(false)
+                    .updatedAt(now)
+                    .build());
+        }
+        return transactionTemplate.execute(status -> checkpointRepository.saveAll(created));
+    }
+
+    // span * i / count. Snowflake id 는 구간이 넓어 곱셈이 long 을 넘칠 수 있으므로 몫과 나머지로 나눠 계산한다.
+    private static long boundaryOf(final long span, final int i, final int count) {
+        return span / count * i + span % count * i / count;
+    }
+
+    private void reconcilePartition(final String runId, final PointReconcileCheckpoint checkpoint) {
+        long afterId = checkpoint.getLastId();
+        final long upperId = checkpoint.getUpperId();
+
+        while (true) {
+            final List<MembershipVersion> chunk =
+                    membershipRepository.findVersionsAfter(afterId, upperId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                transactionTemplate.executeWithoutResult(
+                        status -> checkpointRepository.finish(checkpoint.getId(), LocalDateTime.now()));
+                return;
+            }
+
+            final long lastId = chunk.get(chunk.size() - 1).getId();
+            final boolean finished = chunk.size() < chunkSize || lastId >= upperId;
+            final List<MembershipVersion> suspects = suspectsOf(chunk);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                final LocalDateTime now = LocalDateTime.now();
+                int drifted = 0;
+                int repaired = 0;
+                for (final MembershipVersion suspect : suspects) {
+                    final PointReconcileDrift drift = recheck(runId, suspect.getId(), now);
+                    if (drift == null) {
+                        continue;
+                    }
+                    driftRepository.save(drift);
+                    drifted++;
+                    if (drift.getRepaired()) {
+                        repaired++;
+                    }
+                }
+                checkpointRepository.advance(
+                        checkpoint.getId(), lastId, chunk.size(), drifted, repaired, finished, now);
+            });
+
+            if (finished) {
+                return;
+            }
+            afterId = lastId;
+        }
+    }
+
+    // 청크의 버킷 합을 한 번에 읽어 잔액과 다른 멤버십만 추린다. 잠금 없이 읽으므로 확정은 recheck 에서 한다.
+    private List<MembershipVersion> suspectsOf(final List<MembershipVersion> chunk) {
+        final Map<Long, Long> accrued = new HashMap<>(chunk.size() * 2);
+        for (final PointLotSum sum : pointLotRepository.sumByMembershipIdBetween(
+                chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId())) {
+            accrued.put(sum.getMembershipId(), sum.getAmount());
+        }
+
+        final List<MembershipVersion> suspects = new ArrayList<>();
+        for (final MembershipVersion version : chunk) {
+            if (version.getPoint() != accrued.getOrDefault(version.getId(), 0L).longValue()) {
+                suspects.add(version);
+            }
+        }
+        return suspects;
+    }
+
+    /**
+     * 멤버십 행 잠금을 잡은 뒤 잔액과 버킷 합을 다시 읽는다. 버킷은 멤버십 잠금을 가진 트랜잭션만 바꾸므로 이 시점 값은
+     * 확정값이다. suspects 는 id 오름차순이라 잠금 순서도 다른 배치와 같다. 그새 맞아졌으면 null.
+     */
+    private PointReconcileDrift recheck(final String runId, final Long membershipId, final LocalDateTime now) {
+        final Membership membership = membershipRepository.findForUpdateById(membershipId).orElse(null);
+        if (membership == null) {
+            return null;
+        }
+        final long recorded = membership.getPoint();
+        final long accrued = pointLotRepository.sumByMembershipId(membershipId);
+        if (recorded == accrued) {
+            return null;
+        }
+
+        final boolean repairable = repair && recorded < accrued;
+        if (repairable) {
+            final long delta = accrued - recorded;
+            membershipRepository.increasePoint(membershipId, delta, now);
+            membershipOutbox.append(membershipId, membership.getUserId(), MembershipEventType.RECONCILED, delta);
+        }
+        log.warn(
+                "Point drift. runId: {}, membershipId: {}, recorded: {}, accrued: {}, repaired: {}",
+                runId,
+                membershipId,
+                recorded,
+                accrued,
+                repairable);
+
+        return PointReconcileDrift.builder()
+                .runId(runId)
+                .membershipId(membershipId)
+                .userId(membership.getUserId())
+                .recordedPoint(recorded)
+                .accruedPoint(accrued)
+                .repaired(repairable)
+                .detectedAt(now)
+                .build();
+    }
+}
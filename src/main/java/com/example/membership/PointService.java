@@ -3,4 +3,9 @@ package com.example.membership;
 public interface PointService {
 
     int calculateAmount(final int price);
+
+    int calculateAmount(final int price, final MembershipTier tier);
+
+    // 여러 결제액을 모아 한 번에 적립할 때(핫 잔액 checkpoint)
+    long calculateAmount(final long price, final MembershipTier tier);
 }
@@ -10,4 +10,13 @@ public class RatePointService implements PointService {
     public int calculateAmount(final int price) {
         return price * POINT_RATE / 100;
     }
+
+    // 골드(3%)는 약 7.2억, 실버(2%)는 약 10.7억부터 int 곱셈이 넘치므로 long 으로 계산한다.
+    public int calculateAmount(final int price, final MembershipTier tier) {
+        return Math.toIntExact(calculateAmount((long) price, tier));
+    }
+
+    public long calculateAmount(final long price, final MembershipTier tier) {
+        return Math.multiplyExact(price, tier.getPointRate()) / 100;
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.membership;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * 실제 제휴사 연동 전까지 쓰는 로컬 stub. 설정된 지연 후 userId 로부터 정해지는 값을 돌려준다.
+ */
+public class StubPartnerMembershipProvider implements PartnerMembershipProvider {
+
+    private static final String[] TIERS = {"BASIC", "SILVER", "GOLD"};
+
+    @Getter
+    private final MembershipType membershipType;
+
+    private final Duration latency;
+
+    public StubPartnerMembershipProvider(final MembershipType membershipType, final Duration latency) {
+        this.membershipType = membershipType;
+        this.latency = latency;
+    }
+
+    @Override
+    public PartnerMembership fetch(final String userId) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Partner call interrupted. type: " + membershipType, e);
+        }
+
+        final int hash = Math.floorMod(userId.hashCode() + membershipType.ordinal(), 1000);
+        return PartnerMembership.builder()
+                .membershipType(membershipType)
+                .tier(TIERS[hash % TIERS.length])
+                .partnerPoint(hash * 10L)
+                .build();
+    }
+}
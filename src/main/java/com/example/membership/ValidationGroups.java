@@ -9,4 +9,7 @@ public class ValidationGroups {
 
     public interface MembershipAccumulateMarker {
     }
+
+    public interface MembershipRedeemMarker {
+    }
 }
@@ -0,0 +1,6 @@
+-- 등급은 누적 적립 포인트(lifetime_point) 기준. 사용/이체로는 줄지 않는다.
+ALTER TABLE membership ADD COLUMN lifetime_point BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE membership ADD COLUMN tier VARCHAR(10) NOT NULL DEFAULT 'BRONZE';
+
+-- 이력이 없으므로 현재 잔액을 누적치로 채운다. 등급은 다음 적립 때 기준값 표로 다시 매겨진다.
+UPDATE membership SET lifetime_point = point;
@@ -0,0 +1,3 @@
+-- id 는 애플리케이션(MembershipIdGenerator)이 insert 전에 정한다. AUTO_INCREMENT 를 남겨 두면 MariaDB 가
+-- 명시한 id 뒤로 카운터를 옮겨 Snowflake id 와 겹칠 수 있으므로 없앤다. 기존 id 는 모두 Snowflake 범위보다 작다.
+ALTER TABLE membership MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,14 @@
+-- relay 는 모든 인스턴스에서 돌므로 이 행의 잠금을 잡은 인스턴스 하나만 발행한다. 잠금은 배치 트랜잭션과 함께 풀린다.
+CREATE TABLE membership_outbox_relay_lock
+(
+    name VARCHAR(30) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO membership_outbox_relay_lock (name) VALUES ('relay');
+
+-- 발행한 이벤트는 바로 지우지 않고 발행 순번을 붙여 retention 동안 남긴다. SSE 는 인스턴스마다 이 순번을 커서로 읽는다.
+ALTER TABLE membership_outbox ADD COLUMN relay_seq BIGINT NULL;
+ALTER TABLE membership_outbox ADD COLUMN relayed_at DATETIME(6) NULL;
+CREATE INDEX idx_membership_outbox_relay_seq ON membership_outbox (relay_seq);
+CREATE INDEX idx_membership_outbox_relayed_at ON membership_outbox (relayed_at);
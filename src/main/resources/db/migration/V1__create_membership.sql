@@ -0,0 +1,10 @@
+CREATE TABLE membership
+(
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    membership_type VARCHAR(20)  NOT NULL,
+    user_id         VARCHAR(255) NOT NULL,
+    point           INT          NOT NULL DEFAULT 0,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,5 @@
+-- 대량 포인트 잔액을 위해 INT -> BIGINT
+ALTER TABLE membership MODIFY COLUMN point BIGINT NOT NULL DEFAULT 0;
+
+-- 중복 등록 확인(findByUserIdAndMembershipType)과 목록 조회(findAllByUserId)를 함께 커버
+CREATE UNIQUE INDEX uk_membership_user_id_type ON membership (user_id, membership_type);
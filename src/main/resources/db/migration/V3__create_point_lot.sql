@@ -0,0 +1,14 @@
+-- 적립 포인트를 만료 월 단위 버킷으로 묶어 관리 (멤버십당 만료일별 1행)
+CREATE TABLE point_lot
+(
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    membership_id BIGINT NOT NULL,
+    expires_on    DATE   NOT NULL,
+    amount        BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX uk_point_lot_membership_expires_on ON point_lot (membership_id, expires_on);
+
+-- 만료 스윕의 keyset 페이징 (expires_on, id) > (?, ?) AND expires_on <= ? ORDER BY expires_on, id
+CREATE INDEX idx_point_lot_expires_on_id ON point_lot (expires_on, id);
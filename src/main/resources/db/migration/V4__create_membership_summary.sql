@@ -0,0 +1,9 @@
+-- 사용자별 멤버십 수/포인트 합계 rollup. 멤버십 변경 시 같은 트랜잭션에서 증분 갱신한다.
+CREATE TABLE membership_summary
+(
+    user_id          VARCHAR(255) NOT NULL,
+    membership_count INT          NOT NULL DEFAULT 0,
+    total_point      BIGINT       NOT NULL DEFAULT 0,
+    updated_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (user_id)
+);
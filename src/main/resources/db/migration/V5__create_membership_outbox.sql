@@ -0,0 +1,11 @@
+-- 멤버십 변경 이벤트 outbox. 변경과 같은 트랜잭션에서 쓰고 relay 가 id 순으로 발행 후 삭제한다.
+CREATE TABLE membership_outbox
+(
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    membership_id BIGINT       NOT NULL,
+    user_id       VARCHAR(255) NOT NULL,
+    event_type    VARCHAR(20)  NOT NULL,
+    point_delta   BIGINT       NOT NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,4 @@
+-- soft delete: deleted_at 이 채워진 행은 tombstone 으로, 조회에서 제외되고 compactor 가 나중에 지운다.
+ALTER TABLE membership ADD COLUMN deleted_at DATETIME(6);
+
+CREATE INDEX idx_membership_deleted_at_id ON membership (deleted_at, id);
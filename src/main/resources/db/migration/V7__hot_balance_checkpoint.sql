@@ -0,0 +1,8 @@
+-- 핫 멤버십 잔액 저장소가 DB 에 반영을 끝낸 마지막 WAL 세그먼트. 노드별로 하나씩 둔다.
+CREATE TABLE hot_balance_checkpoint
+(
+    node_id    VARCHAR(64) NOT NULL,
+    segment    BIGINT      NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (node_id)
+);
@@ -0,0 +1,6 @@
+-- 관리자 검색(MembershipSearchService) 필터 조합별 인덱스. 필터 범위는 인덱스로 좁히고, 끝의 id 로 cap 건수 추정은 인덱스만 읽는다.
+-- 페이지는 id 순 keyset 이라 범위 안의 행을 id 로 정렬한 뒤 limit 한다. 정렬 비용은 필터 범위 크기를 따라간다.
+CREATE INDEX idx_membership_type_created_at ON membership (membership_type, created_at, id);
+CREATE INDEX idx_membership_type_point ON membership (membership_type, point, id);
+CREATE INDEX idx_membership_created_at ON membership (created_at, id);
+CREATE INDEX idx_membership_point ON membership (point, id);
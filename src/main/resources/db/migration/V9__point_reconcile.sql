@@ -0,0 +1,33 @@
+-- 포인트 정합성 점검(PointReconciler) 진행 상황. run 마다 id 구간을 파티션으로 나눠 두고, 청크를 끝낼 때마다 last_id 를 올린다.
+CREATE TABLE point_reconcile_checkpoint
+(
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    run_id       VARCHAR(64) NOT NULL,
+    partition_no INT         NOT NULL,
+    upper_id     BIGINT      NOT NULL,
+    last_id      BIGINT      NOT NULL,
+    scanned      BIGINT      NOT NULL DEFAULT 0,
+    drifted      BIGINT      NOT NULL DEFAULT 0,
+    repaired     BIGINT      NOT NULL DEFAULT 0,
+    finished     BOOLEAN     NOT NULL DEFAULT FALSE,
+    updated_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX uk_point_reconcile_checkpoint_run_partition ON point_reconcile_checkpoint (run_id, partition_no);
+
+-- 드리프트 리포트. 잔액(point)과 버킷 합(point_lot.amount)이 어긋난 멤버십을 run 별로 남긴다.
+CREATE TABLE point_reconcile_drift
+(
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    run_id         VARCHAR(64)  NOT NULL,
+    membership_id  BIGINT       NOT NULL,
+    user_id        VARCHAR(255) NOT NULL,
+    recorded_point BIGINT       NOT NULL,
+    accrued_point  BIGINT       NOT NULL,
+    repaired       BOOLEAN      NOT NULL,
+    detected_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_point_reconcile_drift_run_id ON point_reconcile_drift (run_id, id);
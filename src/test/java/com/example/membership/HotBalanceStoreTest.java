@@ -0,0 +1,204 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// checkpoint 는 테스트가 직접 부른다. 다른 컨텍스트와 섞이지 않게 별도 DB 를 쓴다.
+@ActiveProfiles({"test", "hot-store"})
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:hot-balance;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "membership.hot-balance.enabled=true",
+            "membership.hot-balance.promote-threshold=3",
+            "membership.hot-balance.demote-threshold=1",
+            "membership.hot-balance.checkpoint-interval=1h",
+            "membership.hot-balance.node-id=hot-balance-test"
+        })
+class HotBalanceStoreTest {
+
+    @TempDir
+    static Path walDirectory;
+
+    @DynamicPropertySource
+    static void walProperties(final DynamicPropertyRegistry registry) {
+        registry.add("membership.hot-balance.wal-dir", () -> walDirectory.resolve("context").toString());
+    }
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private MembershipSummaryService membershipSummaryService;
+
+    @Autowired
+    private HotBalanceStore hotBalanceStore;
+
+    @Autowired
+    private PointLotService pointLotService;
+
+    @Autowired
+    private MembershipOutbox membershipOutbox;
+
+    @Autowired
+    private PointService ratePointService;
+
+    @Autowired
+    private MembershipTierTable membershipTierTable;
+
+    @Autowired
+    private HotBalanceCheckpointRepository hotBalanceCheckpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long pointOf(final Long membershipId) {
+        return membershipRepository.findVersionById(membershipId).orElseThrow().getPoint();
+    }
+
+    private void promote(final Long membershipId, final String userId) {
+        for (int i = 0; i < 3; i++) {
+            membershipService.accumulateMembershipPoint(membershipId, userId, 10000);
+        }
+        hotBalanceStore.checkpoint();
+    }
+
+    @Test
+    @DisplayName("자주 적립되는 멤버십은 승격되어 메모리에 쌓이고 checkpoint 때 한 번에 반영됨")
+    void hotMembershipIsCheckpointedInBatch() throws Exception {
+        // given
+        final String userId = "hot-user";
+        final Long membershipId = membershipService
+                .addMembership(userId, MembershipType.NAVER, 0)
+                .getId();
+        promote(membershipId, userId);
+        final long promotedAt = pointOf(membershipId);
+
+        // when
+        final int threads = 8;
+        final int perThread = 250;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        membershipService.accumulateMembershipPoint(membershipId, userId, 10000);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        final long beforeCheckpoint = pointOf(membershipId);
+        final long visibleBeforeCheckpoint =
+                membershipService.getMembership(membershipId, userId).getPoint();
+        hotBalanceStore.checkpoint();
+
+        // then
+        final long accumulated = threads * perThread * 100L;
+        assertThat(promotedAt).isEqualTo(300L);
+        assertThat(beforeCheckpoint).isEqualTo(promotedAt);
+        assertThat(visibleBeforeCheckpoint).isEqualTo(promotedAt + accumulated);
+        assertThat(pointOf(membershipId)).isEqualTo(promotedAt + accumulated);
+        assertThat(hotBalanceStore.pendingOf(membershipId)).isZero();
+        assertThat(membershipSummaryService.getSummary(userId).getTotalPoint())
+                .isEqualTo(promotedAt + accumulated);
+        // 누적 200,300 으로 checkpoint 가 실버로 올린다.
+        assertThat(membershipRepository.findById(membershipId).orElseThrow().getTier())
+                .isEqualTo(MembershipTier.SILVER);
+    }
+
+    @Test
+    @DisplayName("핫 멤버십의 적립률은 추정 등급이 아니라 checkpoint 때 잠근 행의 등급으로 계산")
+    void hotAccrualUsesLockedTier() {
+        // given
+        final String userId = "hot-gold-user";
+        final Long membershipId = membershipService
+                .addMembership(userId, MembershipType.LINE, 500_000)
+                .getId();
+        promote(membershipId, userId);
+        final long promotedAt = pointOf(membershipId);
+        // 같은 hint 슬롯을 쓰는 다른 멤버십이 브론즈를 남긴 경우
+        membershipTierTable.remember(membershipId, MembershipTier.BRONZE);
+
+        // when
+        membershipService.accumulateMembershipPoint(membershipId, userId, 10000);
+        hotBalanceStore.checkpoint();
+
+        // then
+        assertThat(promotedAt).isEqualTo(500_900L);
+        assertThat(pointOf(membershipId)).isEqualTo(promotedAt + 300L);
+    }
+
+    @Test
+    @DisplayName("checkpoint 전에 죽으면 다음 기동 때 WAL 로 한 번만 복구")
+    void walIsReplayedOnce() throws IOException {
+        // given
+        final String userId = "wal-user";
+        final Long membershipId = membershipService
+                .addMembership(userId, MembershipType.KAKAO, 0)
+                .getId();
+        final Path directory = walDirectory.resolve("crashed");
+        final HotBalanceWal wal = new HotBalanceWal(directory);
+        try (FileChannel segment = wal.open(1L)) {
+            HotBalanceWal.append(segment, membershipId, 70_000L);
+            HotBalanceWal.append(segment, membershipId, 30_000L);
+        }
+
+        // when
+        newStore(directory).recover();
+        newStore(directory).recover();
+
+        // then: WAL 의 결제액 100,000 을 브론즈 적립률 1% 로 한 번만 반영
+        assertThat(pointOf(membershipId)).isEqualTo(1000L);
+        assertThat(membershipSummaryService.getSummary(userId).getTotalPoint()).isEqualTo(1000L);
+        assertThat(hotBalanceCheckpointRepository.findSegmentByNodeId("crashed-node"))
+                .hasValueSatisfying(segment -> assertThat(segment).isGreaterThanOrEqualTo(1L));
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .doesNotContain("segment-1.wal");
+        }
+    }
+
+    private HotBalanceStore newStore(final Path directory) {
+        return new HotBalanceStore(
+                membershipRepository,
+                pointLotService,
+                membershipSummaryService,
+                membershipOutbox,
+                ratePointService,
+                membershipTierTable,
+                hotBalanceCheckpointRepository,
+                transactionManager,
+                true,
+                16,
+                3,
+                1,
+                directory,
+                "crashed-node");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * 스케줄러 스레드의 할당이 섞이지 않도록 호출 스레드의 할당량만 잰다.
+ * 비교는 서비스 aspect(가드, 트랜잭션 프록시)를 벗긴 적립과 엔티티 왕복을 같은 TransactionTemplate 안에서 같은
+ * 리포지토리 빈으로 돌려 본문 차이만 남긴다.
+ * 절대 예산은 MembershipAccumulateBenchmark.accumulate 의 -prof gc gc.alloc.rate.norm 측정값에 HEADROOM 을 곱한 값이고,
+ * 벤치마크와 같이 프록시를 거친 호출로 잰다.
+ * 측정값은 ./gradlew test -Pmembership.allocation.accumulate-norm-bytes=<B/op> 로 넘기고, 없으면 상대 비교만 한다.
+ */
+@SpringBootTest(
+        properties =
+                "spring.datasource.url=jdbc:h2:mem:allocation;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class MembershipAccumulateAllocationTest {
+
+    private static final Long MEASURED_NORM_BYTES = Long.getLong("membership.allocation.accumulate-norm-bytes");
+    // JMH 와 ThreadMXBean 의 측정 차이, H2 내부 캐시 상태에 따른 흔들림을 덮는 여유
+    private static final double HEADROOM = 1.25;
+    private static final int WARM_UP = 2_000;
+    private static final int MEASURED = 500;
+    private static final String USER_ID = "allocation-user";
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private PointLotService pointLotService;
+
+    @Autowired
+    private MembershipSummaryService membershipSummaryService;
+
+    @Autowired
+    private MembershipEventRepository membershipEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long bytesPerCall(final Runnable call) {
+        final ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARM_UP; i++) {
+            call.run();
+        }
+        final long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED; i++) {
+            call.run();
+        }
+        return (threadMXBean.getCurrentThreadAllocatedBytes() - before) / MEASURED;
+    }
+
+    @Test
+    @DisplayName("적립 한 건의 할당량이 엔티티 왕복 방식보다 적음")
+    void accumulateAllocatesLessThanEntityRoundTrip() {
+        // given
+        final Long membershipId = membershipService
+                .addMembership(USER_ID, MembershipType.NAVER, 0)
+                .getId();
+
+        // when
+        final long accumulate = accumulateBytesPerCall(membershipId);
+        final long entityRoundTrip = entityRoundTripBytesPerCall(membershipId);
+
+        // then
+        assertThat(accumulate).isLessThan(entityRoundTrip);
+    }
+
+    @Test
+    @DisplayName("적립 한 건의 할당량이 JMH 측정값 + 여유 안")
+    void accumulateStaysWithinAllocationBudget() {
+        assumeTrue(MEASURED_NORM_BYTES != null, "membership.allocation.accumulate-norm-bytes 미지정");
+
+        // given
+        final Long membershipId = membershipService
+                .addMembership(USER_ID + "-budget", MembershipType.NAVER, 0)
+                .getId();
+
+        // when
+        final long accumulate =
+                bytesPerCall(() -> membershipService.accumulateMembershipPoint(membershipId, USER_ID + "-budget", 10000));
+
+        // then
+        assertThat(accumulate).isLessThanOrEqualTo((long) (MEASURED_NORM_BYTES * HEADROOM));
+    }
+
+    private long accumulateBytesPerCall(final Long membershipId) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        final MembershipService target = AopTestUtils.getUltimateTargetObject(membershipService);
+        final String userId = membershipRepository.findById(membershipId).orElseThrow().getUserId();
+        return bytesPerCall(() -> transactionTemplate.executeWithoutResult(
+                status -> target.accumulateMembershipPoint(membershipId, userId, 10000)));
+    }
+
+    private long entityRoundTripBytesPerCall(final Long membershipId) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return bytesPerCall(() -> transactionTemplate.executeWithoutResult(status -> {
+            final Membership membership =
+                    membershipRepository.findById(membershipId).orElseThrow();
+            membership.setPoint(membership.getPoint() + 100);
+            pointLotService.accrue(membershipId, 100);
+            membershipSummaryService.apply(USER_ID, 0, 100);
+            membershipEventRepository.save(MembershipEvent.builder()
+                    .membershipId(membershipId)
+                    .userId(USER_ID)
+                    .eventType(MembershipEventType.ACCUMULATED)
+                    .pointDelta(100L)
+                    .build());
+        }));
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.util.unit.DataSize;
+
+// 멤버십 3개 목록(수백 바이트)은 넘고 상세 1건은 넘지 않는 기준값
+@SpringBootTest(properties = "membership.compression.min-response-size=256B")
+@AutoConfigureMockMvc
+class MembershipCompressionTest {
+
+    private static final String LIST_URL = "/api/v1/memberships";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private final String userId = "compression-" + UUID.randomUUID();
+    private Long membershipId;
+
+    @BeforeEach
+    void setUp() {
+        for (final MembershipType membershipType : MembershipType.values()) {
+            membershipId = membershipRepository
+                    .save(Membership.builder()
+                            .userId(userId)
+                            .membershipType(membershipType)
+                            .point(10000L)
+                            .build())
+                    .getId();
+        }
+    }
+
+    private MockHttpServletResponse get(final String url, final String acceptEncoding) throws Exception {
+        final var request = MockMvcRequestBuilders.get(url).header(USER_ID_HEADER, userId);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static byte[] gunzip(final byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("기준보다 큰 목록 응답은 gzip 으로 내려가고 풀면 원래 응답과 같다")
+    void compressesLargeResponse() throws Exception {
+        // when
+        final MockHttpServletResponse identity = get(LIST_URL, null);
+        final MockHttpServletResponse gzip = get(LIST_URL, "gzip, deflate, br");
+
+        // then
+        assertThat(identity.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzip.getStatus()).isEqualTo(200);
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzip.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzip.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(gzip.getContentAsByteArray()).hasSizeLessThan(identity.getContentAsByteArray().length);
+        assertThat(gunzip(gzip.getContentAsByteArray())).isEqualTo(identity.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("압축 응답은 약한 ETag 를 주고 그 ETag 로 재검증하면 304")
+    void weakETagRevalidates() throws Exception {
+        // given
+        final String strong = get(LIST_URL, null).getHeader(HttpHeaders.ETAG);
+        final String weak = get(LIST_URL, "gzip").getHeader(HttpHeaders.ETAG);
+
+        // when
+        final int status = mockMvc.perform(MockMvcRequestBuilders.get(LIST_URL)
+                        .header(USER_ID_HEADER, userId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, weak))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+
+        // then
+        assertThat(weak).isEqualTo("W/" + strong);
+        assertThat(status).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("기준보다 작은 응답은 압축하지 않고 Content-Length 를 그대로 주되 ETag 는 압축 응답과 같은 약한 ETag")
+    void leavesSmallResponse() throws Exception {
+        // when
+        final MockHttpServletResponse response = get(LIST_URL + "/" + membershipId, "gzip");
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("W/\"");
+    }
+
+    @Test
+    @DisplayName("gzip 을 받는 요청의 304 도 약한 ETag 와 Vary 를 준다")
+    void notModifiedCarriesWeakETag() throws Exception {
+        // given
+        final String weak = get(LIST_URL, "gzip").getHeader(HttpHeaders.ETAG);
+
+        // when
+        final MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.get(LIST_URL)
+                        .header(USER_ID_HEADER, userId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, weak))
+                .andReturn()
+                .getResponse();
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(weak);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    @DisplayName("gzip 을 받지 않는 요청은 압축하지 않는다")
+    void respectsAcceptEncoding() throws Exception {
+        // when
+        final MockHttpServletResponse refused = get(LIST_URL, "gzip;q=0, identity");
+
+        // then
+        assertThat(refused.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(refused.getContentAsString()).startsWith("[");
+    }
+
+    @Test
+    @DisplayName("요청 수만큼 Deflater 를 만들지 않고 풀의 인코더를 다시 쓴다")
+    void reusesPooledEncoder() throws Exception {
+        // given
+        final MembershipGzipPool pool = new MembershipGzipPool(6, 1, 16, 64);
+        final byte[] payload = get(LIST_URL, null).getContentAsByteArray();
+        final MembershipGzipPool.Encoder first = pool.acquire();
+        pool.release(first);
+
+        // when
+        final MembershipGzipPool.Encoder second = pool.acquire();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        second.start(out);
+        for (int offset = 0; offset < payload.length; offset += 100) {
+            second.write(payload, offset, Math.min(100, payload.length - offset), out);
+        }
+        second.finish(out);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(gunzip(out.toByteArray())).isEqualTo(payload);
+    }
+
+    @Test
+    @DisplayName("논블로킹 쓰기를 요청하면 압축하지 않고 원래 스트림에 WriteListener 를 넘긴다")
+    void delegatesWriteListenerUncompressed() throws Exception {
+        // given
+        final MembershipCompressionFilter filter =
+                new MembershipCompressionFilter(DataSize.ofBytes(16), new String[] {"application/json"}, 6, 1);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", LIST_URL);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        final MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final WriteListener[] registered = new WriteListener[1];
+        final HttpServletResponseWrapper response = new HttpServletResponseWrapper(mockResponse) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new ServletOutputStream() {
+                    @Override
+                    public void write(final int b) {
+                        body.write(b);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(final WriteListener writeListener) {
+                        registered[0] = writeListener;
+                    }
+                };
+            }
+        };
+        final WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {}
+
+            @Override
+            public void onError(final Throwable t) {}
+        };
+        final byte[] payload = "{\"items\":\"non-blocking response body\"}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            final ServletOutputStream out = res.getOutputStream();
+            out.setWriteListener(listener);
+            out.write(payload);
+        });
+
+        // then
+        assertThat(registered[0]).isSameAs(listener);
+        assertThat(mockResponse.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(mockResponse.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(body.toByteArray()).isEqualTo(payload);
+    }
+}
@@ -4,10 +4,16 @@ import static com.example.membership.MembershipConstants.USER_ID_HEADER;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,13 +25,17 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.google.gson.Gson;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +46,13 @@ class MembershipControllerTest {
     @Mock
     private MembershipService membershipService;
 
+    @Spy
+    private MembershipCachePolicy membershipCachePolicy = new MembershipCachePolicy(Duration.ZERO);
+
+    @Spy
+    private MembershipRequestValidator membershipRequestValidator =
+            new MembershipRequestValidator(MembershipRequestValidatorTest.reflectiveValidator());
+
     private MockMvc mockMvc;
     private Gson gson;
 
@@ -161,8 +178,9 @@ class MembershipControllerTest {
     void saveSuccess() throws Exception {
         // given
         final String url = "/api/v1/memberships";
+        // 2^53 + 1: JSON number 로 내보내면 JavaScript 에서 2^53 으로 읽힌다.
         final MembershipDto membershipDto = MembershipDto.builder()
-                .id(-1L)
+                .id(9_007_199_254_740_993L)
                 .membershipType(MembershipType.NAVER)
                 .build();
 
@@ -185,7 +203,9 @@ class MembershipControllerTest {
                 MembershipDto.class);
 
         assertThat(response.getMembershipType()).isEqualTo(MembershipType.NAVER);
-        assertThat(response.getId()).isNotNull();
+        assertThat(response.getId()).isEqualTo(9_007_199_254_740_993L);
+        assertThat(resultActions.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .contains("\"id\":\"9007199254740993\"");
     }
 
     @ParameterizedTest
@@ -239,6 +259,7 @@ class MembershipControllerTest {
                 MembershipDetailResponse.builder().build()))
                 .when(membershipService)
                 .getMembershipList("12345");
+        doReturn("\"1\"").when(membershipService).getMembershipListETag("12345");
 
         // when
         ResultActions resultActions =
@@ -248,6 +269,62 @@ class MembershipControllerTest {
         resultActions.andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("멤버십 목록 조회 성공 / CBOR 응답")
+    void getSuccessfulWithCbor() throws Exception {
+        // given
+        final String url = "/api/v1/memberships";
+        doReturn(Arrays.asList(
+                        MembershipDetailResponse.builder()
+                                .id(1L)
+                                .membershipType(MembershipType.NAVER)
+                                .point(10000L)
+                                .build(),
+                        MembershipDetailResponse.builder()
+                                .id(2L)
+                                .membershipType(MembershipType.KAKAO)
+                                .point(500L)
+                                .build()))
+                .when(membershipService)
+                .getMembershipList("12345");
+        doReturn("\"1\"").when(membershipService).getMembershipListETag("12345");
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .header(USER_ID_HEADER, "12345")
+                .accept(MediaType.APPLICATION_CBOR));
+
+        // then
+        resultActions.andExpect(status().isOk());
+        assertThat(resultActions.andReturn().getResponse().getContentType())
+                .startsWith(MediaType.APPLICATION_CBOR_VALUE);
+
+        final List<Map<String, Object>> response = new CBORMapper()
+                .readValue(resultActions.andReturn().getResponse().getContentAsByteArray(), new TypeReference<>() {});
+
+        assertThat(response).hasSize(2);
+        assertThat(response.get(0)).containsEntry("membershipType", "NAVER").containsEntry("point", 10000);
+        // 같은 버전이라도 JSON 과 다른 강한 ETag
+        assertThat(resultActions.andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("\"1-cbor\"");
+        assertThat(resultActions.andReturn().getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    @DisplayName("멤버십 적립 실패: CBOR 요청의 포인트가 음수")
+    void accumulateNegativePointWithCbor() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1/accumulate";
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .header(USER_ID_HEADER, "12345")
+                .content(new CBORMapper().writeValueAsBytes(membershipRequest(-1)))
+                .contentType(MediaType.APPLICATION_CBOR));
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("멤버십 상세 조회 실패 / id 없음")
     void getDetailIdNotFoundException() throws Exception {
@@ -268,7 +345,7 @@ class MembershipControllerTest {
         final String url = "/api/v1/memberships/-1";
         doThrow(new MembershipException(MembershipErrorResult.MEMBERSHIP_NOT_FOUND))
                 .when(membershipService)
-                .getMembership(-1L, "12345");
+                .getMembershipETag(-1L, "12345");
 
         // when
         final ResultActions resultActions =
@@ -286,12 +363,49 @@ class MembershipControllerTest {
         doReturn(MembershipDetailResponse.builder().build())
                 .when(membershipService)
                 .getMembership(-1L, "12345");
+        doReturn("\"1-2\"").when(membershipService).getMembershipETag(-1L, "12345");
         // when
         final ResultActions resultActions =
                 mockMvc.perform(MockMvcRequestBuilders.get(url).header(USER_ID_HEADER, "12345"));
 
         // then
-        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"1-2\""));
+    }
+
+    @Test
+    @DisplayName("멤버십 상세 조회 / ETag 가 같으면 304 이고 본문을 만들지 않음")
+    void getDetailNotModified() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1";
+        doReturn("\"1-2\"").when(membershipService).getMembershipETag(-1L, "12345");
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .header(USER_ID_HEADER, "12345")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""));
+
+        // then
+        resultActions
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        verify(membershipService, never()).getMembership(-1L, "12345");
+    }
+
+    @Test
+    @DisplayName("멤버십 목록 조회 / ETag 가 다르면 200")
+    void getListModified() throws Exception {
+        // given
+        final String url = "/api/v1/memberships";
+        doReturn("\"2\"").when(membershipService).getMembershipListETag("12345");
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.get(url)
+                .header(USER_ID_HEADER, "12345")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+
+        // then
+        resultActions.andExpect(status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
     }
 
     @Test
@@ -367,4 +481,120 @@ class MembershipControllerTest {
         // then
         resultActions.andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("멤버십 사용 실패: 포인트가 0")
+    void redeemZeroPointException() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1/redeem";
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .header(USER_ID_HEADER, "12345")
+                .content(gson.toJson(membershipRequest(0)))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("멤버십 사용 실패: 잔액 부족")
+    void redeemInsufficientPointException() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1/redeem";
+        doThrow(new MembershipException(MembershipErrorResult.INSUFFICIENT_POINT))
+                .when(membershipService)
+                .redeemMembershipPoint(-1L, "12345", 10000L);
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .header(USER_ID_HEADER, "12345")
+                .content(gson.toJson(membershipRequest(10000)))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+        assertThat(resultActions.andReturn().getResponse().getContentAsString())
+                .contains(MembershipErrorResult.INSUFFICIENT_POINT.name());
+    }
+
+    @Test
+    @DisplayName("멤버십 사용 성공")
+    void redeemSuccessful() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1/redeem";
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .header(USER_ID_HEADER, "12345")
+                .content(gson.toJson(membershipRequest(10000)))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions.andExpect(status().isNoContent());
+        verify(membershipService).redeemMembershipPoint(-1L, "12345", 10000L);
+    }
+
+    @Test
+    @DisplayName("멤버십 이체 실패: 대상 멤버십 없음")
+    void transferTargetNullException() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1/transfer";
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .header(USER_ID_HEADER, "12345")
+                .content(gson.toJson(MembershipTransferRequest.builder().point(100).build()))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("멤버십 이체 성공")
+    void transferSuccessful() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/-1/transfer";
+
+        // when
+        final ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                .header(USER_ID_HEADER, "12345")
+                .content(gson.toJson(MembershipTransferRequest.builder()
+                        .targetMembershipId(-2L)
+                        .point(100)
+                        .build()))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions.andExpect(status().isNoContent());
+        verify(membershipService).transferMembershipPoint(-1L, -2L, "12345", 100L);
+    }
+
+    @Test
+    @DisplayName("멤버십 합계 조회 성공")
+    void getSummarySuccessful() throws Exception {
+        // given
+        final String url = "/api/v1/memberships/summary";
+        doReturn(MembershipSummaryResponse.builder()
+                        .userId("12345")
+                        .membershipCount(2L)
+                        .totalPoint(1500L)
+                        .build())
+                .when(membershipService)
+                .getMembershipSummary("12345");
+
+        // when
+        final ResultActions resultActions =
+                mockMvc.perform(MockMvcRequestBuilders.get(url).header(USER_ID_HEADER, "12345"));
+
+        // then
+        resultActions.andExpect(status().isOk());
+        final MembershipSummaryResponse response = gson.fromJson(
+                resultActions.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8),
+                MembershipSummaryResponse.class);
+        assertThat(response.getTotalPoint()).isEqualTo(1500L);
+        assertThat(response.getMembershipCount()).isEqualTo(2L);
+    }
 }
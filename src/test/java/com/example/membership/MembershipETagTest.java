@@ -0,0 +1,128 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MembershipETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private Long saveMembership(final String userId) {
+        return membershipRepository
+                .save(Membership.builder()
+                        .userId(userId)
+                        .membershipType(MembershipType.NAVER)
+                        .point(10000L)
+                        .build())
+                .getId();
+    }
+
+    private String eTagOf(final String url, final String userId) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get(url).header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private int conditionalGet(final String url, final String userId, final String eTag) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get(url)
+                        .header(USER_ID_HEADER, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    private void accumulate(final Long membershipId, final String userId) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/memberships/" + membershipId + "/accumulate")
+                        .header(USER_ID_HEADER, userId)
+                        .content("{\"point\":10000}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 모든 조건부 상세 조회가 304")
+    void detailNotModifiedRate() throws Exception {
+        // given
+        final String userId = "etag-detail";
+        final Long membershipId = saveMembership(userId);
+        final String url = "/api/v1/memberships/" + membershipId;
+        final String eTag = eTagOf(url, userId);
+
+        // when
+        int notModified = 0;
+        for (int i = 0; i < 20; i++) {
+            if (conditionalGet(url, userId, eTag) == 304) {
+                notModified++;
+            }
+        }
+
+        // then
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(notModified).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("적립 후에는 상세/목록 ETag 가 바뀌고 이전 ETag 로는 200")
+    void eTagChangesAfterAccumulate() throws Exception {
+        // given
+        final String userId = "etag-accumulate";
+        final Long membershipId = saveMembership(userId);
+        final String detailUrl = "/api/v1/memberships/" + membershipId;
+        final String listUrl = "/api/v1/memberships";
+        final String detailETag = eTagOf(detailUrl, userId);
+        final String listETag = eTagOf(listUrl, userId);
+
+        // when
+        accumulate(membershipId, userId);
+
+        // then
+        assertThat(conditionalGet(detailUrl, userId, detailETag)).isEqualTo(200);
+        assertThat(conditionalGet(listUrl, userId, listETag)).isEqualTo(200);
+
+        final String newDetailETag = eTagOf(detailUrl, userId);
+        final String newListETag = eTagOf(listUrl, userId);
+        assertThat(newDetailETag).isNotEqualTo(detailETag);
+        assertThat(newListETag).isNotEqualTo(listETag);
+        assertThat(conditionalGet(detailUrl, userId, newDetailETag)).isEqualTo(304);
+        assertThat(conditionalGet(listUrl, userId, newListETag)).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("멤버십이 추가되면 목록 ETag 가 바뀜")
+    void listETagChangesAfterAdd() throws Exception {
+        // given
+        final String userId = "etag-list";
+        saveMembership(userId);
+        final String listETag = eTagOf("/api/v1/memberships", userId);
+
+        // when
+        membershipRepository.save(Membership.builder()
+                .userId(userId)
+                .membershipType(MembershipType.KAKAO)
+                .point(0L)
+                .build());
+
+        // then
+        assertThat(conditionalGet("/api/v1/memberships", userId, listETag)).isEqualTo(200);
+    }
+}
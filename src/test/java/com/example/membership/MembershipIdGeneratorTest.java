@@ -0,0 +1,142 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class MembershipIdGeneratorTest {
+
+    private static final long NOW = MembershipIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final MembershipIdGenerator generator =
+            new MembershipIdGenerator(7, Duration.ofMillis(50), clock::get);
+
+    @Test
+    @DisplayName("id 에 시각과 노드가 들어가고 같은 ms 안에서는 순번이 오른다")
+    void layout() {
+        final long first = generator.nextId();
+        final long second = generator.nextId();
+
+        assertThat(first).isPositive();
+        assertThat(MembershipIdGenerator.epochMillisOf(first)).isEqualTo(NOW);
+        assertThat(MembershipIdGenerator.nodeOf(first)).isEqualTo(7);
+        assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    @DisplayName("순번이 넘치면 다음 ms 를 당겨 쓴다")
+    void sequenceOverflowBorrowsNextMillisecond() {
+        long previous = generator.nextId();
+        for (int i = 1; i < 1 << MembershipIdGenerator.SEQUENCE_BITS; i++) {
+            final long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        final long borrowed = generator.nextId();
+
+        assertThat(borrowed).isGreaterThan(previous);
+        assertThat(MembershipIdGenerator.epochMillisOf(borrowed)).isEqualTo(NOW + 1);
+        assertThat(MembershipIdGenerator.nodeOf(borrowed)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("허용 범위 안에서 시계가 뒤로 가면 계속 증가하는 id 를 낸다")
+    void toleratesSmallClockSkew() {
+        final long before = generator.nextId();
+        clock.addAndGet(-30);
+
+        final long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("허용 범위를 넘게 시계가 뒤로 가면 id 를 만들지 않는다")
+    void rejectsLargeClockSkew() {
+        generator.nextId();
+        clock.addAndGet(-51);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+
+        clock.addAndGet(51);
+        assertThat(generator.nextId()).isPositive();
+    }
+
+    @Test
+    @DisplayName("노드 번호는 10비트 범위여야 한다")
+    void nodeRange() {
+        assertThatThrownBy(() -> new MembershipIdGenerator(1024, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MembershipIdGenerator(-1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 만들어도 겹치지 않고 스레드마다 증가한다")
+    void concurrentUniqueness() throws Exception {
+        // given
+        // 경합 중에는 ms 당 4096 개를 넘겨 다음 ms 를 당겨 쓰므로 허용 범위를 넉넉히 둔다.
+        final MembershipIdGenerator real = new MembershipIdGenerator(1, Duration.ofSeconds(1));
+        final int threads = 8;
+        final int perThread = 50_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        final List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                final long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = real.nextId();
+                }
+                return ids;
+            }));
+        }
+
+        // then
+        final Set<Long> unique = new HashSet<>();
+        for (final Future<long[]> future : futures) {
+            final long[] ids = future.get();
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                unique.add(ids[i]);
+            }
+        }
+        executor.shutdown();
+        assertThat(unique).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("node-id 가 없으면 local/test 프로필에서만 0 을 쓰고 그 밖에서는 기동에 실패한다")
+    void nodeIdRequiredOutsideLocal() {
+        // given
+        final MockEnvironment local = new MockEnvironment();
+        local.setDefaultProfiles("local");
+        final MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+
+        // then
+        assertThat(MembershipIdConfig.resolveNodeId("", local)).isZero();
+        assertThat(MembershipIdConfig.resolveNodeId("12", prod)).isEqualTo(12);
+        assertThatThrownBy(() -> MembershipIdConfig.resolveNodeId(" ", prod))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("MEMBERSHIP_NODE_ID");
+    }
+}
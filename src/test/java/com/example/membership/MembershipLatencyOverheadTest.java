@@ -0,0 +1,125 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 지연 추적 오버헤드를 실제 리포지토리 경로로 확인한다. membership.slo.enabled 만 다른 두 컨텍스트에 같은 상세 조회를
+ * 번갈아 돌려 라운드별 시간의 중앙값을 비교한다. 기본 test 에서는 빠지고 ./gradlew largeTest 로 돈다.
+ * 허용치는 -Pmembership.slo.max-overhead-percent 로 바꿀 수 있다. 자세한 분포는 MembershipLatencyBenchmark 로 본다.
+ */
+@Tag("large")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MembershipLatencyOverheadTest {
+
+    private static final double MAX_OVERHEAD_PERCENT =
+            Double.parseDouble(System.getProperty("membership.slo.max-overhead-percent", "1"));
+    private static final int ROUNDS = Integer.getInteger("membership.slo.overhead-rounds", 30);
+    private static final int CALLS_PER_ROUND = 2_000;
+    private static final String USER_ID = "overhead-user";
+
+    private Target untracked;
+    private Target tracked;
+
+    @BeforeAll
+    void startContexts() {
+        untracked = new Target(false);
+        tracked = new Target(true);
+    }
+
+    @AfterAll
+    void closeContexts() {
+        untracked.context.close();
+        tracked.context.close();
+    }
+
+    @Test
+    @DisplayName("추적을 켠 상세 조회의 중앙값이 끈 경우보다 허용치 이상 느리지 않음")
+    void trackingOverheadWithinBudget() {
+        // given: JIT 와 커넥션 풀을 양쪽 모두 데운다.
+        untracked.run(CALLS_PER_ROUND * 5);
+        tracked.run(CALLS_PER_ROUND * 5);
+
+        // when: 순서 효과가 한쪽에 쏠리지 않도록 라운드마다 먼저 도는 쪽을 바꾼다.
+        final long[] untrackedNanos = new long[ROUNDS];
+        final long[] trackedNanos = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            if (round % 2 == 0) {
+                untrackedNanos[round] = untracked.run(CALLS_PER_ROUND);
+                trackedNanos[round] = tracked.run(CALLS_PER_ROUND);
+            } else {
+                trackedNanos[round] = tracked.run(CALLS_PER_ROUND);
+                untrackedNanos[round] = untracked.run(CALLS_PER_ROUND);
+            }
+        }
+
+        // then
+        final double overheadPercent = (median(trackedNanos) / median(untrackedNanos) - 1) * 100;
+        assertThat(overheadPercent).isLessThanOrEqualTo(MAX_OVERHEAD_PERCENT);
+    }
+
+    private static double median(final long[] values) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length % 2 == 1
+                ? sorted[sorted.length / 2]
+                : (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2.0;
+    }
+
+    private static final class Target {
+        private final boolean tracking;
+        private final ConfigurableApplicationContext context;
+        private final MembershipService membershipService;
+        private final MembershipLatencyTracker tracker;
+        private final Long membershipId;
+
+        private Target(final boolean tracking) {
+            this.tracking = tracking;
+            this.context = new SpringApplicationBuilder(MembershipApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:overhead-" + tracking
+                                    + ";MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                            "logging.level.root=warn",
+                            "membership.slo.enabled=" + tracking,
+                            "membership.slo.default-threshold=10s",
+                            "membership.slo.thresholds=")
+                    .run();
+            this.membershipService = context.getBean(MembershipService.class);
+            this.tracker = context.getBean(MembershipLatencyTracker.class);
+            this.membershipId = membershipService
+                    .addMembership(USER_ID, MembershipType.NAVER, 0)
+                    .getId();
+        }
+
+        // 인터셉터가 여는 라우트 구간은 웹 컨텍스트가 없으므로 같은 begin/end 로 감싼다.
+        private long run(final int calls) {
+            final long started = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                if (tracking) {
+                    final MembershipLatencyTracker.Mark request =
+                            tracker.begin("MembershipController#getMembership", USER_ID, null);
+                    try {
+                        membershipService.getMembership(membershipId, USER_ID);
+                    } finally {
+                        tracker.end(request);
+                    }
+                } else {
+                    membershipService.getMembership(membershipId, USER_ID);
+                }
+            }
+            return System.nanoTime() - started;
+        }
+    }
+}
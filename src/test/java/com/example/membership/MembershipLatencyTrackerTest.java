@@ -0,0 +1,118 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MembershipLatencyTrackerTest {
+
+    private final MembershipLatencyTracker tracker = new MembershipLatencyTracker(
+            Duration.ofMillis(200),
+            new String[] {"MembershipRepository=50ms", "MembershipRepository#findById=10ms"},
+            2,
+            50);
+
+    private static long millis(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    @DisplayName("SLO 는 메서드, 클래스, 기본값 순으로 찾는다")
+    void thresholdLookup() {
+        assertThat(tracker.thresholdNanosOf("MembershipRepository#findById")).isEqualTo(millis(10));
+        assertThat(tracker.thresholdNanosOf("MembershipRepository#save")).isEqualTo(millis(50));
+        assertThat(tracker.thresholdNanosOf("MembershipController#addMembership")).isEqualTo(millis(200));
+    }
+
+    @Test
+    @DisplayName("백분위와 SLO 초과 건수를 연산별로 모은다")
+    void percentiles() {
+        // given
+        for (int i = 1; i <= 100; i++) {
+            tracker.end(tracker.begin("MembershipController#getMembership", "user", null), millis(i * 3L));
+        }
+
+        // when
+        final MembershipSloReport.OperationLatencySnapshot snapshot = tracker.report().getOperations().get(0);
+
+        // then
+        assertThat(snapshot.getOperation()).isEqualTo("MembershipController#getMembership");
+        assertThat(snapshot.getCount()).isEqualTo(100);
+        assertThat(snapshot.getP50Millis()).isBetween(148.0, 152.0);
+        assertThat(snapshot.getP99Millis()).isBetween(295.0, 301.0);
+        assertThat(snapshot.getSloMillis()).isEqualTo(200);
+        // 200ms 초과: 201..300ms 인 34건
+        assertThat(snapshot.getBreaches()).isEqualTo(34);
+    }
+
+    @Test
+    @DisplayName("느린 호출은 구간 안의 SQL 과 bind 값을 남기고 사용자 id 는 마스킹한다")
+    void slowOperationCapture() {
+        // given
+        final MembershipLatencyTracker.Mark request =
+                tracker.begin("MembershipController#getMembership", "user-1", null);
+        tracker.statement("select 1", new Object[0]);
+        final MembershipLatencyTracker.Mark repository =
+                tracker.begin("MembershipRepository#findById", null, new Object[] {42L});
+        tracker.statement("select m1_0.id from membership m1_0 where m1_0.id=?", new Object[] {42L});
+        tracker.end(repository, millis(1));
+        final MembershipLatencyTracker.Mark byUser =
+                tracker.begin("MembershipRepository#findAllByUserId", null, new Object[] {"user-1"});
+        tracker.statement("select m1_0.id from membership m1_0 where m1_0.user_id=?", new Object[] {"user-1"});
+        tracker.end(byUser, millis(1));
+
+        // when
+        tracker.end(request, millis(500));
+        tracker.statement("select outside", new Object[0]);
+
+        // then
+        final MembershipSloReport.SlowOperation slow = tracker.report().getSlowest().get(0);
+        assertThat(slow.getOperation()).isEqualTo("MembershipController#getMembership");
+        assertThat(slow.getUserId()).isEqualTo("us***");
+        assertThat(slow.getStatements())
+                .containsExactly(
+                        "select 1",
+                        "select m1_0.id from membership m1_0 where m1_0.id=?",
+                        "select m1_0.id from membership m1_0 where m1_0.user_id=?");
+        assertThat(slow.getBinds()).containsExactly("[]", "[42]", "[us***]");
+    }
+
+    @Test
+    @DisplayName("사용자 id 파라미터 값은 요청 맥락이 없거나 다른 사용자여도 bind 값에서 마스킹한다")
+    void redactsUserIdParameterWithoutRequest() {
+        // given
+        final MembershipLatencyTracker.Mark sweep = tracker.begin(
+                "MembershipRepository#softDelete",
+                null,
+                new Object[] {7L, "other-user", "x"},
+                new boolean[] {false, true, false});
+        tracker.statement(
+                "update membership set deleted_at=? where id=? and user_id=?", new Object[] {"x", 7L, "other-user"});
+
+        // when
+        tracker.end(sweep, millis(500));
+
+        // then
+        final MembershipSloReport.SlowOperation slow = tracker.report().getSlowest().get(0);
+        assertThat(slow.getUserId()).isNull();
+        assertThat(slow.getBinds()).containsExactly("[x, 7, ot***]");
+    }
+
+    @Test
+    @DisplayName("느린 호출 목록은 가장 느린 것만 정해진 수만큼 남긴다")
+    void keepsSlowest() {
+        // when
+        for (final long elapsed : new long[] {300, 900, 400, 700}) {
+            tracker.end(tracker.begin("MembershipController#addMembership", "user", null), millis(elapsed));
+        }
+
+        // then
+        assertThat(tracker.report().getSlowest())
+                .extracting(MembershipSloReport.SlowOperation::getElapsedMillis)
+                .containsExactly(900.0, 700.0);
+    }
+}
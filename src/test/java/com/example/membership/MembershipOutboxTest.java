@@ -0,0 +1,149 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 캐시된 다른 테스트 컨텍스트의 relay 가 outbox 를 먼저 비우지 않도록 별도 DB 를 쓴다.
+@SpringBootTest(
+        properties = {
+            "membership.outbox.in-memory-sink.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+        })
+class MembershipOutboxTest {
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipOutboxRelay membershipOutboxRelay;
+
+    @Autowired
+    private MembershipEventRepository membershipEventRepository;
+
+    @Autowired
+    private InMemoryMembershipEventSink inMemoryMembershipEventSink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("변경마다 outbox 이벤트가 쌓이고 relay 가 멤버십별 순서대로 발행 후 비움")
+    void relayPublishesInOrder() {
+        // given
+        final String userId = "outbox-user";
+        final Long naver = membershipService.addMembership(userId, MembershipType.NAVER, 1000).getId();
+        final Long kakao = membershipService.addMembership(userId, MembershipType.KAKAO, 0).getId();
+        membershipService.accumulateMembershipPoint(naver, userId, 10000);
+        membershipService.redeemMembershipPoint(naver, userId, 50L);
+        membershipService.transferMembershipPoint(naver, kakao, userId, 30L);
+        membershipService.removeMembership(kakao, userId);
+
+        // when
+        membershipOutboxRelay.relay();
+
+        // then
+        final List<MembershipEvent> published = inMemoryMembershipEventSink.getEvents().stream()
+                .filter(event -> event.getUserId().equals(userId))
+                .toList();
+
+        assertThat(published)
+                .filteredOn(event -> event.getMembershipId().equals(naver))
+                .extracting(MembershipEvent::getEventType, MembershipEvent::getPointDelta)
+                .containsExactly(
+                        tuple(MembershipEventType.ADDED, 1000L),
+                        tuple(MembershipEventType.ACCUMULATED, 100L),
+                        tuple(MembershipEventType.REDEEMED, -50L),
+                        tuple(MembershipEventType.TRANSFERRED_OUT, -30L));
+        assertThat(published)
+                .filteredOn(event -> event.getMembershipId().equals(kakao))
+                .extracting(MembershipEvent::getEventType)
+                .containsExactly(
+                        MembershipEventType.ADDED, MembershipEventType.TRANSFERRED_IN, MembershipEventType.REMOVED);
+        assertThat(published).isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+        assertThat(membershipEventRepository.countByRelaySeqIsNull()).isZero();
+        // 발행한 행은 retention 동안 남고, id 순서대로 발행 순번이 붙는다.
+        assertThat(published.stream()
+                        .map(event -> membershipEventRepository
+                                .findById(event.getId())
+                                .orElseThrow()
+                                .getRelaySeq())
+                        .toList())
+                .doesNotContainNull()
+                .isSorted();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 relay 잠금을 잡고 있으면 발행하지 않고, 풀리면 한 번만 발행")
+    void relayRunsOnOneInstanceAtATime() throws Exception {
+        // given
+        final String userId = "outbox-leader";
+        final Long naver = membershipService.addMembership(userId, MembershipType.NAVER, 10).getId();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        final Future<?> holder = otherInstance.submit(
+                () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    membershipEventRepository.lockRelay();
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        final int whileLocked = membershipOutboxRelay.relay();
+        release.countDown();
+        holder.get();
+        otherInstance.shutdown();
+        final int afterRelease = membershipOutboxRelay.relay();
+        final int again = membershipOutboxRelay.relay();
+
+        // then
+        assertThat(whileLocked).isZero();
+        assertThat(afterRelease).isPositive();
+        assertThat(again).isZero();
+        assertThat(inMemoryMembershipEventSink.getEvents())
+                .filteredOn(event -> event.getMembershipId().equals(naver))
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("실패한 변경은 이벤트를 남기지 않음")
+    void rolledBackMutationLeavesNoEvent() {
+        // given
+        final String userId = "outbox-rollback";
+        final Long naver = membershipService.addMembership(userId, MembershipType.NAVER, 10).getId();
+        membershipOutboxRelay.relay();
+
+        // when
+        try {
+            membershipService.redeemMembershipPoint(naver, userId, 1_000L);
+        } catch (MembershipException ignored) {
+            // 잔액 부족
+        }
+        membershipOutboxRelay.relay();
+
+        // then
+        assertThat(inMemoryMembershipEventSink.getEvents())
+                .filteredOn(event -> event.getMembershipId().equals(naver))
+                .extracting(MembershipEvent::getEventType)
+                .containsExactly(MembershipEventType.ADDED);
+    }
+}
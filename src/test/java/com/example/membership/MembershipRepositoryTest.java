@@ -2,14 +2,21 @@ package com.example.membership;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
+// 임베디드 DB 로 교체하지 않고 MariaDB 호환 모드 H2 + Flyway 마이그레이션으로 검증
 @DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(MembershipIdConfig.class)
 class MembershipRepositoryTest {
 
     @Autowired
@@ -26,7 +33,7 @@ class MembershipRepositoryTest {
         final Membership membership = Membership.builder()
                 .userId("userId")
                 .membershipType(MembershipType.NAVER)
-                .point(10000)
+                .point(10000L)
                 .build();
         // when
         final Membership result = membershipRepository.save(membership);
@@ -44,7 +51,7 @@ class MembershipRepositoryTest {
         final Membership membership = Membership.builder()
                 .userId("userId")
                 .membershipType(MembershipType.NAVER)
-                .point(10000)
+                .point(10000L)
                 .build();
 
         // when
@@ -79,13 +86,13 @@ class MembershipRepositoryTest {
         Membership naverMembership = Membership.builder()
                 .userId("userId")
                 .membershipType(MembershipType.NAVER)
-                .point(10000)
+                .point(10000L)
                 .build();
 
         Membership kakaoMembership = Membership.builder()
                 .userId("userId")
                 .membershipType(MembershipType.KAKAO)
-                .point(10000)
+                .point(10000L)
                 .build();
 
         membershipRepository.save(naverMembership);
@@ -105,7 +112,7 @@ class MembershipRepositoryTest {
         final Membership naverMembership = Membership.builder()
                 .userId("userId")
                 .membershipType(MembershipType.NAVER)
-                .point(10000)
+                .point(10000L)
                 .build();
 
         final Membership savedMembership = membershipRepository.save(naverMembership);
@@ -119,4 +126,61 @@ class MembershipRepositoryTest {
         // then
         assertThat(isPresent).isFalse();
     }
+
+    @Test
+    @DisplayName("tombstone 은 모든 조회에서 제외되고 소유자가 다르면 표시되지 않음")
+    void softDeletedMembershipIsHidden() {
+        // given
+        final Membership savedMembership = membershipRepository.save(Membership.builder()
+                .userId("tombstoneUser")
+                .membershipType(MembershipType.NAVER)
+                .point(10000L)
+                .build());
+        final Long id = savedMembership.getId();
+
+        // when
+        final int notOwner = membershipRepository.softDelete(id, "notOwner", LocalDateTime.now());
+        final int deleted = membershipRepository.softDelete(id, "tombstoneUser", LocalDateTime.now());
+        final int deletedAgain = membershipRepository.softDelete(id, "tombstoneUser", LocalDateTime.now());
+
+        // then
+        assertThat(notOwner).isZero();
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+        assertThat(membershipRepository.findById(id)).isEmpty();
+        assertThat(membershipRepository.findVersionById(id)).isEmpty();
+        assertThat(membershipRepository.findAllByUserId("tombstoneUser")).isEmpty();
+        assertThat(membershipRepository.findByUserIdAndMembershipType("tombstoneUser", MembershipType.NAVER))
+                .isNull();
+        assertThat(membershipRepository.redeemPoint(id, "tombstoneUser", 1L, LocalDateTime.now()))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("tombstone 을 치우면 같은 종류로 재등록 가능")
+    void purgeTombstoneAllowsReRegister() {
+        // given
+        final Long id = membershipRepository
+                .save(Membership.builder()
+                        .userId("compactUser")
+                        .membershipType(MembershipType.KAKAO)
+                        .point(0L)
+                        .build())
+                .getId();
+        membershipRepository.softDelete(id, "compactUser", LocalDateTime.now().minusDays(1));
+
+        // when
+        final List<Long> tombstones = membershipRepository.findTombstoneIds(LocalDateTime.now(), id - 1, 10);
+        final int purged = membershipRepository.purgeTombstones(tombstones);
+        final Membership reRegistered = membershipRepository.save(Membership.builder()
+                .userId("compactUser")
+                .membershipType(MembershipType.KAKAO)
+                .point(0L)
+                .build());
+
+        // then
+        assertThat(tombstones).containsExactly(id);
+        assertThat(purged).isEqualTo(1);
+        assertThat(reRegistered.getId()).isNotEqualTo(id);
+    }
 }
@@ -0,0 +1,126 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.example.membership.ValidationGroups.MembershipAccumulateMarker;
+import com.example.membership.ValidationGroups.MembershipAddMarker;
+import com.example.membership.ValidationGroups.MembershipRedeemMarker;
+import jakarta.validation.groups.Default;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+class MembershipRequestValidatorTest {
+
+    private final LocalValidatorFactoryBean reflective = reflectiveValidator();
+    private final MembershipRequestValidator target = new MembershipRequestValidator(reflective);
+
+    static LocalValidatorFactoryBean reflectiveValidator() {
+        final LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        return validator;
+    }
+
+    @AfterEach
+    void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    private static Errors validate(
+            final SmartValidator validator,
+            final MembershipRequest request,
+            final Class<?> group) {
+        final Errors errors = new BeanPropertyBindingResult(request, "membershipRequest");
+        validator.validate(request, errors, group);
+        return errors;
+    }
+
+    // 에러 순서는 Hibernate Validator 도 보장하지 않으므로 집합으로 비교한다.
+    private static Set<String> describe(final Errors errors) {
+        return errors.getFieldErrors().stream()
+                .map(MembershipRequestValidatorTest::describe)
+                .collect(Collectors.toSet());
+    }
+
+    private static String describe(final FieldError error) {
+        return String.join(
+                "|",
+                error.getField(),
+                String.valueOf(error.getRejectedValue()),
+                Arrays.toString(error.getCodes()),
+                Arrays.toString(Arrays.stream(error.getArguments()).skip(1).toArray()),
+                error.getDefaultMessage());
+    }
+
+    @ParameterizedTest
+    @MethodSource("requests")
+    @DisplayName("그룹별 검증 결과가 Hibernate Validator 와 같다")
+    void sameAsReflective(final Integer point, final MembershipType membershipType, final Class<?> group) {
+        // given
+        final MembershipRequest request = new MembershipRequest(point, membershipType);
+
+        // when
+        final Errors expected = validate(reflective, request, group);
+        final Errors actual = validate(target, request, group);
+
+        // then
+        assertThat(actual.getErrorCount()).isEqualTo(expected.getErrorCount());
+        assertThat(describe(actual)).isEqualTo(describe(expected));
+    }
+
+    public static Stream<Arguments> requests() {
+        final List<Class<?>> groups =
+                List.of(MembershipAddMarker.class, MembershipAccumulateMarker.class, MembershipRedeemMarker.class);
+        final Integer[] points = {null, Integer.MIN_VALUE, -1, 0, 1, 10000};
+        final MembershipType[] types = {null, MembershipType.NAVER};
+
+        return groups.stream().flatMap(group -> Arrays.stream(points)
+                .flatMap(point -> Arrays.stream(types).map(type -> Arguments.of(point, type, group))));
+    }
+
+    @Test
+    @DisplayName("locale 이 바뀌면 그 locale 의 메시지를 쓴다")
+    void messagesFollowLocale() {
+        // given
+        final MembershipRequest request = new MembershipRequest(-1, null);
+
+        for (final Locale locale : List.of(Locale.ENGLISH, Locale.KOREAN)) {
+            LocaleContextHolder.setLocale(locale);
+
+            // when
+            final Errors expected = validate(reflective, request, MembershipAddMarker.class);
+            final Errors actual = validate(target, request, MembershipAddMarker.class);
+
+            // then
+            assertThat(describe(actual)).isEqualTo(describe(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("그룹 hint 가 없으면 검증하지 않는다")
+    void defaultGroupHasNoConstraints() {
+        final MembershipRequest request = new MembershipRequest(null, null);
+
+        assertThat(validate(reflective, request, Default.class).hasErrors())
+                .isFalse();
+        assertThat(validate(target, request, Default.class).hasErrors())
+                .isFalse();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 커넥션 획득을 늦추는 DataSource 프록시로 DB 지연을 흉내 낸다. 다른 컨텍스트와 섞이지 않게 별도 DB 를 쓴다.
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:resilience;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "membership.resilience.slow-call-duration=100ms",
+            "membership.resilience.slow-call-rate-threshold=50",
+            "membership.resilience.sliding-window-size=4",
+            "membership.resilience.minimum-calls=4",
+            "membership.resilience.open-duration=1m"
+        })
+@AutoConfigureMockMvc
+class MembershipResilienceTest {
+
+    private static final AtomicLong CONNECTION_DELAY_MILLIS = new AtomicLong();
+
+    @TestConfiguration
+    static class SlowDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(
+                            DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class}, (p, method, args) -> {
+                                if (method.getName().equals("getConnection")) {
+                                    Thread.sleep(CONNECTION_DELAY_MILLIS.get());
+                                }
+                                try {
+                                    return method.invoke(dataSource, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getTargetException();
+                                }
+                            });
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        CONNECTION_DELAY_MILLIS.set(0);
+        circuitBreakerRegistry.circuitBreaker(MembershipResilienceConfig.PERSISTENCE).reset();
+    }
+
+    private int getDetail(final Long membershipId, final String userId) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/memberships/" + membershipId)
+                        .header(USER_ID_HEADER, userId))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    @Test
+    @DisplayName("DB 가 느려지면 circuit 이 열리고, 읽기는 캐시로 즉시 응답하고 쓰기는 503 으로 즉시 실패")
+    void slowDatabaseOpensCircuit() throws Exception {
+        // given
+        final String userId = "resilience-user";
+        final Long membershipId = membershipRepository
+                .save(Membership.builder()
+                        .userId(userId)
+                        .membershipType(MembershipType.NAVER)
+                        .point(10000L)
+                        .build())
+                .getId();
+        assertThat(getDetail(membershipId, userId)).isEqualTo(200);
+
+        // when
+        CONNECTION_DELAY_MILLIS.set(300);
+        for (int i = 0; i < 4; i++) {
+            getDetail(membershipId, userId);
+        }
+
+        // then
+        final CircuitBreaker circuitBreaker =
+                circuitBreakerRegistry.circuitBreaker(MembershipResilienceConfig.PERSISTENCE);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        final long readStartedAt = System.nanoTime();
+        assertThat(getDetail(membershipId, userId)).isEqualTo(200);
+        assertThat(Duration.ofNanos(System.nanoTime() - readStartedAt)).isLessThan(Duration.ofMillis(300));
+
+        final long writeStartedAt = System.nanoTime();
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/memberships/" + membershipId + "/accumulate")
+                        .header(USER_ID_HEADER, userId)
+                        .content("{\"point\":10000}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable());
+        assertThat(Duration.ofNanos(System.nanoTime() - writeStartedAt)).isLessThan(Duration.ofMillis(300));
+
+        assertThat(meterRegistry.get("membership.persistence.stale.reads").counter().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry
+                        .get("resilience4j.circuitbreaker.state")
+                        .tag("name", MembershipResilienceConfig.PERSISTENCE)
+                        .tag("state", "open")
+                        .gauge()
+                        .value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("읽은 적 없는 데이터는 circuit 이 열리면 503")
+    void openCircuitWithoutCacheIsUnavailable() throws Exception {
+        // given
+        circuitBreakerRegistry.circuitBreaker(MembershipResilienceConfig.PERSISTENCE).transitionToOpenState();
+
+        // when
+        final int result = getDetail(Long.MAX_VALUE, "resilience-nocache");
+
+        // then
+        assertThat(result).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("stale 캐시는 상한을 넘으면 가장 오래 안 쓴 읽기만 밀어낸다")
+    void staleCacheEvictsLeastRecentlyUsed() throws Throwable {
+        // given
+        final MembershipPersistenceGuard guard =
+                new MembershipPersistenceGuard(circuitBreakerRegistry, bulkheadRegistry, meterRegistry, 2);
+        guard.guardRead(read(1L, "first"));
+        guard.guardRead(read(2L, "second"));
+        guard.guardRead(read(1L, "first"));
+        guard.guardRead(read(3L, "third"));
+
+        // when
+        circuitBreakerRegistry.circuitBreaker(MembershipResilienceConfig.PERSISTENCE).transitionToOpenState();
+
+        // then
+        assertThat(guard.guardRead(read(1L, "fresh"))).isEqualTo("first");
+        assertThat(guard.guardRead(read(3L, "fresh"))).isEqualTo("third");
+        assertThatThrownBy(() -> guard.guardRead(read(2L, "fresh")))
+                .isInstanceOf(MembershipException.class)
+                .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.PERSISTENCE_UNAVAILABLE);
+    }
+
+    private static ProceedingJoinPoint read(final Long membershipId, final Object result) throws Throwable {
+        final ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class, RETURNS_DEEP_STUBS);
+        when(joinPoint.getSignature().getName()).thenReturn("getMembership");
+        when(joinPoint.getArgs()).thenReturn(new Object[] {membershipId});
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 검색 필터가 V8 인덱스를 타는지 실행 계획으로 고정한다. 행 수는 -Pmembership.search.plan-rows 로 바꿀 수 있고,
+ * 기본 test 에서는 빠지고 ./gradlew largeTest 로 돈다.
+ * MembershipSearchRepositoryImpl 을 실제로 호출해 StatementInspector 로 잡은 SQL 을 EXPLAIN 한다. criteria 값은
+ * inline 으로 렌더링해 SQL 에 그대로 남기고, 남는 파라미터(limit)만 같은 값으로 묶는다.
+ * 인덱스 이름만이 아니라 필터 범위가 인덱스 조건으로 들어갔는지까지 본다. 페이지의 id 순서는 인덱스 순서가 아니라서
+ * 범위 안의 행을 따로 정렬한다는 것도 계획(index sorted 없음)으로 고정해 둔다.
+ */
+@Tag("large")
+@DataJpaTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:search-plan;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+        })
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(MembershipIdConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MembershipSearchPlanTest {
+
+    private static final int ROWS = Integer.getInteger("membership.search.plan-rows", 1_000_000);
+    private static final int PAGE_LIMIT = 21;
+    private static final int COUNT_CAP = 1000;
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        HibernatePropertiesCustomizer searchPlanStatementCapture() {
+            final StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @BeforeAll
+    void seed() {
+        // 1분 간격 created_at, 종류 3개 순환, 포인트는 0 ~ 99,999 에 흩뿌린다.
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO membership (id, membership_type, user_id, point, created_at, updated_at) "
+                    + "SELECT X, CASE MOD(X, 3) WHEN 0 THEN 'NAVER' WHEN 1 THEN 'KAKAO' ELSE 'LINE' END, "
+                    + "CONCAT('plan-', X), MOD(X * 7919, 100000), "
+                    + "DATEADD('MINUTE', X, TIMESTAMP '2020-01-01 00:00:00'), CURRENT_TIMESTAMP "
+                    + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            jdbcTemplate.execute("ANALYZE TABLE membership");
+        });
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    private static MembershipSearchCondition condition(
+            final MembershipType membershipType,
+            final Long minPoint,
+            final Long maxPoint,
+            final LocalDateTime createdFrom,
+            final LocalDateTime createdTo) {
+        final MembershipSearchCondition condition = new MembershipSearchCondition();
+        condition.setMembershipType(membershipType);
+        condition.setMinPoint(minPoint);
+        condition.setMaxPoint(maxPoint);
+        condition.setCreatedFrom(createdFrom);
+        condition.setCreatedTo(createdTo);
+        return condition;
+    }
+
+    // 방금 실행된 membership 조회 SQL 을 EXPLAIN 한다.
+    private String planOfLastStatement(final int limit) {
+        final String sql = STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase(Locale.ROOT).contains("from membership"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        final int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.queryForObject(
+                "EXPLAIN " + sql, String.class, Collections.nCopies(parameters, limit).toArray());
+    }
+
+    private String searchPlanOf(final MembershipSearchCondition condition) {
+        membershipRepository.search(MembershipSpecifications.of(condition), 0L, PAGE_LIMIT);
+        return planOfLastStatement(PAGE_LIMIT);
+    }
+
+    @Test
+    @DisplayName("데이터가 시드됨")
+    void seeded() {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM membership", Long.class))
+                .isGreaterThanOrEqualTo(ROWS);
+    }
+
+    @Test
+    @DisplayName("종류 + 생성 시각 구간은 (membership_type, created_at, id) 인덱스")
+    void typeAndCreatedAt() {
+        final String plan = searchPlanOf(condition(
+                MembershipType.NAVER,
+                null,
+                null,
+                LocalDateTime.of(2020, 6, 1, 0, 0),
+                LocalDateTime.of(2020, 6, 2, 0, 0)));
+
+        assertThat(plan)
+                .containsPattern("(?is)IDX_MEMBERSHIP_TYPE_CREATED_AT:.*MEMBERSHIP_TYPE\\s*=.*CREATED_AT\\s*>=.*CREATED_AT\\s*<")
+                .doesNotContainIgnoringCase("tableScan")
+                .doesNotContainIgnoringCase("index sorted");
+    }
+
+    @Test
+    @DisplayName("종류 + 포인트 범위는 (membership_type, point, id) 인덱스")
+    void typeAndPoint() {
+        final String plan = searchPlanOf(condition(MembershipType.KAKAO, 100L, 200L, null, null));
+
+        assertThat(plan)
+                .containsPattern("(?is)IDX_MEMBERSHIP_TYPE_POINT:.*MEMBERSHIP_TYPE\\s*=.*POINT\\s*>=.*POINT\\s*<=")
+                .doesNotContainIgnoringCase("tableScan")
+                .doesNotContainIgnoringCase("index sorted");
+    }
+
+    @Test
+    @DisplayName("cap 까지만 세는 건수 추정도 같은 인덱스 범위 안에서 끝난다")
+    void cappedCount() {
+        membershipRepository.countUpTo(
+                MembershipSpecifications.of(condition(MembershipType.LINE, 100L, 200L, null, null)), COUNT_CAP);
+        final String plan = planOfLastStatement(COUNT_CAP + 1);
+
+        assertThat(plan)
+                .containsPattern("(?is)IDX_MEMBERSHIP_TYPE_POINT:.*MEMBERSHIP_TYPE\\s*=.*POINT\\s*>=.*POINT\\s*<=")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+}
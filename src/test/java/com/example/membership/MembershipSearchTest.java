@@ -0,0 +1,118 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(
+        properties =
+                "spring.datasource.url=jdbc:h2:mem:search;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(MembershipIdConfig.class)
+class MembershipSearchTest {
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private MembershipSearchService membershipSearchService;
+
+    @BeforeEach
+    void setUp() {
+        membershipSearchService = new MembershipSearchService(membershipRepository, 3);
+        final MembershipType[] types = MembershipType.values();
+        for (int i = 0; i < 9; i++) {
+            membershipRepository.save(Membership.builder()
+                    .userId("search-" + i)
+                    .membershipType(types[i % types.length])
+                    .point(i * 1000L)
+                    .build());
+        }
+    }
+
+    private MembershipSearchCondition condition(final MembershipType type, final Long minPoint, final Long maxPoint) {
+        final MembershipSearchCondition condition = new MembershipSearchCondition();
+        condition.setMembershipType(type);
+        condition.setMinPoint(minPoint);
+        condition.setMaxPoint(maxPoint);
+        return condition;
+    }
+
+    @Test
+    @DisplayName("종류와 포인트 범위로 거르고 id 오름차순으로 돌려준다")
+    void filterByTypeAndPoint() {
+        // when
+        final MembershipSearchResponse result =
+                membershipSearchService.search(condition(MembershipType.NAVER, 1000L, 6000L));
+
+        // then
+        assertThat(result.getItems()).allSatisfy(item -> {
+            assertThat(item.getMembershipType()).isEqualTo(MembershipType.NAVER);
+            assertThat(item.getPoint()).isBetween(1000L, 6000L);
+        });
+        assertThat(result.getItems()).extracting(MembershipSearchItem::getId).isSorted();
+        assertThat(result.getNextAfterId()).isNull();
+        assertThat(result.isCountExact()).isTrue();
+        assertThat(result.getCountEstimate()).isEqualTo(result.getItems().size());
+    }
+
+    @Test
+    @DisplayName("생성 시각 구간 밖이면 비어 있다")
+    void filterByCreatedAt() {
+        // given
+        final MembershipSearchCondition past = condition(null, null, null);
+        past.setCreatedFrom(LocalDateTime.now().minusDays(2));
+        past.setCreatedTo(LocalDateTime.now().minusDays(1));
+
+        // when
+        final MembershipSearchResponse result = membershipSearchService.search(past);
+
+        // then
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getCountEstimate()).isZero();
+        assertThat(result.isCountExact()).isTrue();
+    }
+
+    @Test
+    @DisplayName("keyset 커서로 끝까지 넘기면 중복/누락 없이 모두 읽힌다")
+    void keysetPaging() {
+        // given
+        final MembershipSearchCondition condition = condition(null, null, null);
+        condition.setSize(4);
+
+        // when
+        final List<Long> ids = new ArrayList<>();
+        MembershipSearchResponse page;
+        do {
+            page = membershipSearchService.search(condition);
+            page.getItems().forEach(item -> ids.add(item.getId()));
+            if (page.getNextAfterId() != null) {
+                condition.setAfterId(page.getNextAfterId());
+            }
+        } while (page.getNextAfterId() != null);
+
+        // then
+        assertThat(ids).hasSize(9).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    @DisplayName("건수가 cap 을 넘으면 cap 으로 잘린 추정치와 countExact=false")
+    void cappedCount() {
+        // when
+        final MembershipSearchResponse result = membershipSearchService.search(condition(null, null, null));
+
+        // then
+        assertThat(result.getCountEstimate()).isEqualTo(3);
+        assertThat(result.isCountExact()).isFalse();
+    }
+}
@@ -4,7 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,8 +20,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,11 +43,29 @@ class MembershipServiceTest {
     @Mock
     private MembershipRepository membershipRepository;
 
+    @Mock
+    private PointLotService pointLotService;
+
+    @Mock
+    private MembershipSummaryService membershipSummaryService;
+
+    @Mock
+    private MembershipOutbox membershipOutbox;
+
+    @Mock
+    private PartnerMembershipAggregator partnerMembershipAggregator;
+
+    @Mock
+    private HotBalanceStore hotBalanceStore;
+
+    @Spy
+    private MembershipTierTable membershipTierTable = new MembershipTierTable(new long[] {0, 100000, 500000}, 1024);
+
     private Membership membership() {
         return Membership.builder()
                 .id(1L)
                 .userId(userId)
-                .point(point)
+                .point(point.longValue())
                 .membershipType(MembershipType.NAVER)
                 .build();
     }
@@ -85,6 +108,7 @@ class MembershipServiceTest {
             // verify
             verify(membershipRepository, times(1)).findByUserIdAndMembershipType(userId, membershipType);
             verify(membershipRepository, times(1)).save(any(Membership.class));
+            verify(membershipSummaryService, times(1)).apply(userId, 1, 10000L);
         }
     }
 
@@ -149,7 +173,7 @@ class MembershipServiceTest {
 
             // then
             assertThat(result.getMembershipType()).isEqualTo(MembershipType.NAVER);
-            assertThat(result.getPoint()).isEqualTo(point);
+            assertThat(result.getPoint()).isEqualTo(point.longValue());
         }
     }
 
@@ -161,7 +185,7 @@ class MembershipServiceTest {
         @DisplayName("멤버십 삭제 실패: 존재하지 않음")
         void deleteNotFoundError() {
             // given
-            when(membershipRepository.findById(membershipId)).thenReturn(Optional.empty());
+            when(membershipRepository.findVersionById(membershipId)).thenReturn(Optional.empty());
 
             // when
             final MembershipException result =
@@ -169,14 +193,15 @@ class MembershipServiceTest {
 
             // then
             assertThat(result.getErrorResult()).isEqualTo(MembershipErrorResult.MEMBERSHIP_NOT_FOUND);
+            verify(membershipSummaryService, times(0)).applyRemoval(membershipId, userId);
         }
 
         @Test
         @DisplayName("멤버십 삭제 실패: 본인이 아님")
         void deleteUnAuthorizedError() {
             // given
-            final Membership membership = membership();
-            when(membershipRepository.findById(membershipId)).thenReturn(Optional.of(membership));
+            when(membershipRepository.findVersionById(membershipId))
+                    .thenReturn(Optional.of(new MembershipVersion(membershipId, userId, 10L, null)));
 
             // when
             assertThatThrownBy(() -> target.removeMembership(membershipId, "notOwner"))
@@ -187,16 +212,22 @@ class MembershipServiceTest {
         }
 
         @Test
-        @DisplayName("멤버십 삭제 성공")
+        @DisplayName("멤버십 삭제 성공: 조회 없이 조건부 UPDATE 한 번")
         void deleteMembershipSuccessful() {
             // given
-            final Membership membership = membership();
-            when(membershipRepository.findById(membershipId)).thenReturn(Optional.of(membership));
+            when(membershipRepository.softDelete(eq(membershipId), eq(userId), any()))
+                    .thenReturn(1);
 
             // when
             target.removeMembership(membershipId, userId);
 
             // then
+            verify(membershipRepository, times(1)).softDelete(eq(membershipId), eq(userId), any());
+            verify(membershipRepository, times(0)).findById(membershipId);
+            verify(membershipRepository, times(0)).findVersionById(membershipId);
+            verify(membershipRepository, times(0)).deleteById(membershipId);
+            verify(membershipSummaryService, times(1)).applyRemoval(membershipId, userId);
+            verify(membershipOutbox, times(1)).appendRemoval(membershipId);
         }
     }
 
@@ -208,7 +239,7 @@ class MembershipServiceTest {
         @DisplayName("멤버십 적립 실패: 존재하지 않음")
         void accmulateNotFoundError() {
             // given
-            when(membershipRepository.findById(membershipId)).thenReturn(Optional.empty());
+            when(membershipRepository.findForUpdateById(membershipId)).thenReturn(Optional.empty());
 
             // when
             assertThatThrownBy(() -> target.accumulateMembershipPoint(membershipId, userId, 10000))
@@ -220,25 +251,166 @@ class MembershipServiceTest {
         @DisplayName("멤버십 적립 실패: 본인이 아님")
         void accmulateUnAuthorizedError() {
             // given
-            final Membership membership = membership();
-            when(membershipRepository.findById(membershipId)).thenReturn(Optional.of(membership));
+            when(membershipRepository.findForUpdateById(membershipId)).thenReturn(Optional.of(membership()));
 
             // when
             assertThatThrownBy(() -> target.accumulateMembershipPoint(membershipId, "notOwner", 10000))
                     .isInstanceOf(MembershipException.class)
                     .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
+            verify(pointLotService, times(0)).accrue(any(), anyLong());
         }
 
         @Test
-        @DisplayName("멤버십 적립 성공")
+        @DisplayName("멤버십 적립 성공: 엔티티 조회 없이 조건부 증가 한 번")
         void accmulateSuccess() {
             // given
-            final Membership membership = membership();
-            when(membershipRepository.findById(membershipId)).thenReturn(Optional.of(membership));
+            when(membershipRepository.accruePoint(
+                            eq(membershipId), eq(userId), eq(MembershipTier.BRONZE), eq(0L), eq(100000L), any()))
+                    .thenReturn(1);
 
             // when
+            target.accumulateMembershipPoint(membershipId, userId, 10000);
+
             // then
+            verify(membershipRepository, times(1))
+                    .accruePoint(eq(membershipId), eq(userId), eq(MembershipTier.BRONZE), eq(0L), eq(100000L), any());
+            verify(membershipRepository, times(0)).findById(membershipId);
+            verify(membershipRepository, times(0)).findForUpdateById(membershipId);
+            verify(pointLotService, times(1)).accrue(membershipId, 0L);
+        }
+
+        @Test
+        @DisplayName("멤버십 적립 성공: 등급 상한을 넘으면 잠금 후 새 등급으로 갱신하고 등급 변경 이벤트")
+        void accmulatePromotesTier() {
+            // given
+            final Membership membership = Membership.builder()
+                    .id(membershipId)
+                    .userId(userId)
+                    .point(99_950L)
+                    .lifetimePoint(99_950L)
+                    .tier(MembershipTier.BRONZE)
+                    .membershipType(MembershipType.NAVER)
+                    .build();
+            when(ratePointService.calculateAmount(10000, MembershipTier.BRONZE)).thenReturn(100);
+            when(membershipRepository.findForUpdateById(membershipId)).thenReturn(Optional.of(membership));
+
+            // when
             target.accumulateMembershipPoint(membershipId, userId, 10000);
+
+            // then
+            verify(membershipRepository, times(1))
+                    .accruePointWithTier(eq(membershipId), eq(100L), eq(MembershipTier.SILVER), any());
+            verify(membershipOutbox, times(1))
+                    .append(membershipId, userId, MembershipEventType.ACCUMULATED, 100L);
+            verify(membershipOutbox, times(1)).append(membershipId, userId, MembershipEventType.TIER_CHANGED, 0L);
+            assertThat(membershipTierTable.hintOf(membershipId)).isEqualTo(MembershipTier.SILVER);
+        }
+    }
+
+    @Nested
+    @DisplayName("멤버십 포인트 사용 테스트")
+    class MembershipRedeemTest {
+
+        @Test
+        @DisplayName("포인트 사용 실패: 존재하지 않음")
+        void redeemNotFoundError() {
+            // given
+            when(membershipRepository.findVersionById(membershipId)).thenReturn(Optional.empty());
+
+            // when
+            assertThatThrownBy(() -> target.redeemMembershipPoint(membershipId, userId, 100L))
+                    .isInstanceOf(MembershipException.class)
+                    .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.MEMBERSHIP_NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("포인트 사용 실패: 본인이 아님")
+        void redeemUnAuthorizedError() {
+            // given
+            when(membershipRepository.findVersionById(membershipId))
+                    .thenReturn(Optional.of(new MembershipVersion(membershipId, userId, 10L, null)));
+
+            // when
+            assertThatThrownBy(() -> target.redeemMembershipPoint(membershipId, "notOwner", 100L))
+                    .isInstanceOf(MembershipException.class)
+                    .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.NOT_MEMBERSHIP_OWNER);
+        }
+
+        @Test
+        @DisplayName("포인트 사용 실패: 잔액 부족")
+        void redeemInsufficientError() {
+            // given
+            when(membershipRepository.findVersionById(membershipId))
+                    .thenReturn(Optional.of(new MembershipVersion(membershipId, userId, 10L, null)));
+
+            // when
+            assertThatThrownBy(() -> target.redeemMembershipPoint(membershipId, userId, 100L))
+                    .isInstanceOf(MembershipException.class)
+                    .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.INSUFFICIENT_POINT);
+            verify(pointLotService, times(0)).consume(any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("포인트 사용 성공")
+        void redeemSuccess() {
+            // given
+            when(membershipRepository.redeemPoint(eq(membershipId), eq(userId), eq(100L), any()))
+                    .thenReturn(1);
+
+            // when
+            target.redeemMembershipPoint(membershipId, userId, 100L);
+
+            // then
+            verify(pointLotService, times(1)).consume(membershipId, 100L);
+            verify(membershipRepository, times(0)).findVersionById(membershipId);
+            verify(membershipSummaryService, times(1)).apply(userId, 0, -100L);
+            verify(membershipOutbox, times(1)).append(membershipId, userId, MembershipEventType.REDEEMED, -100L);
+        }
+    }
+
+    @Nested
+    @DisplayName("멤버십 간 포인트 이체 테스트")
+    class MembershipTransferTest {
+
+        @Test
+        @DisplayName("이체 실패: 같은 멤버십")
+        void transferToSameMembershipError() {
+            assertThatThrownBy(() -> target.transferMembershipPoint(1L, 1L, userId, 100L))
+                    .isInstanceOf(MembershipException.class)
+                    .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.INVALID_TRANSFER_TARGET);
+        }
+
+        @Test
+        @DisplayName("이체 실패: 잔액 부족")
+        void transferInsufficientError() {
+            // given
+            when(membershipRepository.findVersionById(1L))
+                    .thenReturn(Optional.of(new MembershipVersion(1L, userId, 10L, null)));
+
+            // when
+            assertThatThrownBy(() -> target.transferMembershipPoint(1L, 2L, userId, 100L))
+                    .isInstanceOf(MembershipException.class)
+                    .hasFieldOrPropertyWithValue("errorResult", MembershipErrorResult.INSUFFICIENT_POINT);
+        }
+
+        @Test
+        @DisplayName("이체 성공: 멤버십 id 오름차순으로 갱신")
+        void transferLocksInIdOrder() {
+            // given
+            when(membershipRepository.creditPoint(eq(1L), eq(userId), eq(100L), any()))
+                    .thenReturn(1);
+            when(membershipRepository.redeemPoint(eq(2L), eq(userId), eq(100L), any()))
+                    .thenReturn(1);
+
+            // when
+            target.transferMembershipPoint(2L, 1L, userId, 100L);
+
+            // then
+            final InOrder inOrder = inOrder(membershipRepository, pointLotService);
+            inOrder.verify(membershipRepository).creditPoint(eq(1L), eq(userId), eq(100L), any());
+            inOrder.verify(membershipRepository).redeemPoint(eq(2L), eq(userId), eq(100L), any());
+            inOrder.verify(pointLotService).consume(2L, 100L);
+            inOrder.verify(pointLotService).receive(eq(1L), eq(100L), any());
         }
     }
 }
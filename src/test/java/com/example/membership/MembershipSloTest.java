@@ -0,0 +1,58 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+// 상세 조회 SLO 를 0ms 로 둬서 모든 상세 조회가 느린 호출로 남게 한다.
+@SpringBootTest(properties = "membership.slo.thresholds=MembershipController#getMembership=0ms")
+@AutoConfigureMockMvc
+class MembershipSloTest {
+
+    private static final String SLOW = "$.slowest[?(@.operation == 'MembershipController#getMembership')]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Test
+    @DisplayName("라우트별 백분위와 느린 호출의 SQL/bind/마스킹된 사용자 id 를 actuator 로 본다")
+    void sloEndpoint() throws Exception {
+        // given
+        final String userId = "slo-user";
+        final Long membershipId = membershipRepository
+                .save(Membership.builder()
+                        .userId(userId)
+                        .membershipType(MembershipType.NAVER)
+                        .point(10000L)
+                        .build())
+                .getId();
+
+        // when
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/memberships/" + membershipId)
+                        .header(USER_ID_HEADER, userId))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/slo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operations[*].operation").value(hasItem("MembershipController#getMembership")))
+                .andExpect(jsonPath("$.operations[*].operation").value(hasItem(startsWith("MembershipRepository#"))))
+                .andExpect(jsonPath(SLOW + ".userId").value(hasItem("sl***")))
+                .andExpect(jsonPath(SLOW + ".statements[*]").value(hasItem(startsWith("select"))))
+                // 드라이버에 실제로 넘긴 파라미터
+                .andExpect(jsonPath(SLOW + ".binds[*]").value(hasItem("[" + membershipId + "]")));
+    }
+}
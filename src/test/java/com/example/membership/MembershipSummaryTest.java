@@ -0,0 +1,102 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class MembershipSummaryTest {
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipSummaryRepository membershipSummaryRepository;
+
+    @Autowired
+    private MembershipSummaryReconciler membershipSummaryReconciler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("등록/적립/사용/삭제 시 rollup 이 증분 갱신됨")
+    void rollupFollowsMutations() {
+        // given
+        final String userId = "summary-user";
+
+        // when
+        final Long naver = membershipService.addMembership(userId, MembershipType.NAVER, 1000).getId();
+        final Long kakao = membershipService.addMembership(userId, MembershipType.KAKAO, 500).getId();
+        membershipService.accumulateMembershipPoint(naver, userId, 10000);
+        membershipService.redeemMembershipPoint(kakao, userId, 200L);
+        membershipService.transferMembershipPoint(naver, kakao, userId, 300L);
+
+        // then
+        MembershipSummaryResponse summary = membershipService.getMembershipSummary(userId);
+        assertThat(summary.getMembershipCount()).isEqualTo(2L);
+        assertThat(summary.getTotalPoint()).isEqualTo(1000L + 500L + 100L - 200L);
+
+        membershipService.removeMembership(kakao, userId);
+        summary = membershipService.getMembershipSummary(userId);
+        assertThat(summary.getMembershipCount()).isEqualTo(1L);
+        assertThat(summary.getTotalPoint()).isEqualTo(1000L + 100L - 300L);
+    }
+
+    @Test
+    @DisplayName("멤버십이 없으면 0")
+    void emptySummary() {
+        final MembershipSummaryResponse summary = membershipService.getMembershipSummary("summary-nobody");
+
+        assertThat(summary.getMembershipCount()).isZero();
+        assertThat(summary.getTotalPoint()).isZero();
+    }
+
+    @Test
+    @DisplayName("reconcile 이 어긋난 rollup 을 membership 기준으로 복구")
+    void reconcileRepairsDrift() {
+        // given
+        final String userId = "summary-drift";
+        membershipService.addMembership(userId, MembershipType.LINE, 700);
+        transactionTemplate.executeWithoutResult(status -> {
+            membershipSummaryRepository.overwrite(userId, 5, 99_999L, LocalDateTime.now());
+            membershipSummaryRepository.overwrite("summary-orphan", 1, 10L, LocalDateTime.now());
+        });
+
+        // when
+        final int repaired = membershipSummaryReconciler.reconcile();
+
+        // then
+        assertThat(repaired).isGreaterThanOrEqualTo(2);
+        assertThat(membershipService.getMembershipSummary(userId).getTotalPoint()).isEqualTo(700L);
+        assertThat(membershipService.getMembershipSummary(userId).getMembershipCount()).isEqualTo(1L);
+        assertThat(membershipService.getMembershipSummary("summary-orphan").getTotalPoint()).isZero();
+        assertThat(membershipSummaryReconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("repair 는 잠금 아래에서 다시 읽은 값으로 판단해 그 사이 맞춰진 rollup 은 덮어쓰지 않음")
+    void repairRechecksUnderLock() {
+        // given
+        final String userId = "summary-recheck";
+        final Long id = membershipService.addMembership(userId, MembershipType.NAVER, 1000).getId();
+        transactionTemplate.executeWithoutResult(status ->
+                membershipSummaryRepository.overwrite(userId, 1, 1L, LocalDateTime.now()));
+
+        // when
+        final boolean drifted = membershipSummaryReconciler.repair(userId);
+        membershipService.accumulateMembershipPoint(id, userId, 10000);
+        final boolean rechecked = membershipSummaryReconciler.repair(userId);
+
+        // then
+        assertThat(drifted).isTrue();
+        assertThat(rechecked).isFalse();
+        assertThat(membershipService.getMembershipSummary(userId).getTotalPoint()).isEqualTo(1000L + 100L);
+    }
+}
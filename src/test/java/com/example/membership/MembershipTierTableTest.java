@@ -0,0 +1,51 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MembershipTierTableTest {
+
+    private final MembershipTierTable table = new MembershipTierTable(new long[] {0, 100000, 500000}, 1024);
+
+    @Test
+    @DisplayName("기준값 경계에서 등급이 바뀐다")
+    void tierOfBoundaries() {
+        assertThat(table.tierOf(0)).isEqualTo(MembershipTier.BRONZE);
+        assertThat(table.tierOf(99_999)).isEqualTo(MembershipTier.BRONZE);
+        assertThat(table.tierOf(100_000)).isEqualTo(MembershipTier.SILVER);
+        assertThat(table.tierOf(499_999)).isEqualTo(MembershipTier.SILVER);
+        assertThat(table.tierOf(500_000)).isEqualTo(MembershipTier.GOLD);
+        assertThat(table.tierOf(Long.MAX_VALUE)).isEqualTo(MembershipTier.GOLD);
+        assertThat(table.tierOf(-1)).isEqualTo(MembershipTier.BRONZE);
+    }
+
+    @Test
+    @DisplayName("등급 상한은 다음 등급 기준값, 최상위는 상한 없음")
+    void ceilingOf() {
+        assertThat(table.ceilingOf(MembershipTier.BRONZE)).isEqualTo(100_000L);
+        assertThat(table.ceilingOf(MembershipTier.SILVER)).isEqualTo(500_000L);
+        assertThat(table.ceilingOf(MembershipTier.GOLD)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("hint 는 기본 최하위 등급이고 기억한 등급을 돌려준다")
+    void hints() {
+        assertThat(table.hintOf(42L)).isEqualTo(MembershipTier.BRONZE);
+
+        table.remember(42L, MembershipTier.GOLD);
+
+        assertThat(table.hintOf(42L)).isEqualTo(MembershipTier.GOLD);
+    }
+
+    @Test
+    @DisplayName("기준값이 등급 수와 다르거나 오름차순이 아니면 기동 실패")
+    void invalidThresholds() {
+        assertThatThrownBy(() -> new MembershipTierTable(new long[] {0, 100}, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MembershipTierTable(new long[] {0, 500, 500}, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
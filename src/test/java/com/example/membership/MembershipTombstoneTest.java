@@ -0,0 +1,152 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * soft delete 부터 재등록/compaction 까지 tombstone 수명 주기를 실제 DB 로 본다.
+ * 왕복 수는 StatementInspector 로 잡은 SQL 로 센다.
+ */
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:tombstone;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "membership.tombstone.compact-batch-size=2"
+        })
+class MembershipTombstoneTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        HibernatePropertiesCustomizer tombstoneStatementCapture() {
+            final StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipTombstoneCompactor membershipTombstoneCompactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("삭제는 조회 없이 tombstone 표시, rollup, outbox 세 문장")
+    void removeMembershipStatements() {
+        // given
+        final Long membershipId = membershipService
+                .addMembership("tombstone-remove", MembershipType.NAVER, 100)
+                .getId();
+        STATEMENTS.clear();
+
+        // when
+        membershipService.removeMembership(membershipId, "tombstone-remove");
+
+        // then
+        assertThat(STATEMENTS).hasSize(3).noneMatch(sql -> sql.startsWith("select"));
+        assertThat(lotCountOf(membershipId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 종류로 재등록하면 tombstone 행과 lot 이 같이 지워짐")
+    void reRegisterPurgesTombstoneLots() {
+        // given
+        final Long tombstoneId = membershipService
+                .addMembership("tombstone-reregister", MembershipType.KAKAO, 100)
+                .getId();
+        membershipService.removeMembership(tombstoneId, "tombstone-reregister");
+
+        // when
+        final Long membershipId = membershipService
+                .addMembership("tombstone-reregister", MembershipType.KAKAO, 200)
+                .getId();
+
+        // then
+        assertThat(membershipId).isNotEqualTo(tombstoneId);
+        assertThat(rowCountOf(tombstoneId)).isZero();
+        assertThat(lotCountOf(tombstoneId)).isZero();
+        assertThat(lotCountOf(membershipId)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("retention 이 지난 tombstone 만 청크 단위로 행과 lot 을 지움")
+    void compactPurgesExpiredTombstonesInChunks() {
+        // given
+        final LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        final List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(tombstone("tombstone-expired-" + i, cutoff.minusHours(1)));
+        }
+        final Long recent = tombstone("tombstone-recent", cutoff.plusHours(1));
+        final Long live = membershipService
+                .addMembership("tombstone-live", MembershipType.LINE, 100)
+                .getId();
+        STATEMENTS.clear();
+
+        // when
+        final int purged = membershipTombstoneCompactor.compact(cutoff);
+
+        // then
+        assertThat(purged).isEqualTo(5);
+        assertThat(STATEMENTS)
+                .filteredOn(sql -> sql.startsWith("delete from membership "))
+                .hasSize(3);
+        assertThat(expired).allSatisfy(id -> {
+            assertThat(rowCountOf(id)).isZero();
+            assertThat(lotCountOf(id)).isZero();
+        });
+        assertThat(rowCountOf(recent)).isEqualTo(1);
+        assertThat(lotCountOf(recent)).isEqualTo(1);
+        assertThat(rowCountOf(live)).isEqualTo(1);
+        assertThat(lotCountOf(live)).isEqualTo(1);
+    }
+
+    private Long tombstone(final String userId, final LocalDateTime deletedAt) {
+        final Long membershipId = membershipService
+                .addMembership(userId, MembershipType.NAVER, 100)
+                .getId();
+        membershipService.removeMembership(membershipId, userId);
+        jdbcTemplate.update(
+                "UPDATE membership SET deleted_at = ? WHERE id = ?", Timestamp.valueOf(deletedAt), membershipId);
+        return membershipId;
+    }
+
+    private int rowCountOf(final Long membershipId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM membership WHERE id = ?", Integer.class, membershipId);
+    }
+
+    private int lotCountOf(final Long membershipId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM point_lot WHERE membership_id = ?", Integer.class, membershipId);
+    }
+}
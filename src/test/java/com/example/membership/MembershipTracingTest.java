@@ -0,0 +1,98 @@
+package com.example.membership;
+
+import static com.example.membership.MembershipConstants.USER_ID_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MembershipTracingTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+    }
+
+    @Test
+    @DisplayName("요청 하나가 controller/service/repository/JDBC span 으로 나뉘고 에러 응답에 traceId 가 실림")
+    void requestIsTracedPerLayer() throws Exception {
+        // when
+        final String body = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/memberships/" + Long.MAX_VALUE)
+                        .header(USER_ID_HEADER, "tracing-user"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // then
+        final Map<String, String> error = objectMapper.readValue(body, new TypeReference<>() {});
+        final String traceId = error.get("traceId");
+        assertThat(error.get("code")).isEqualTo(MembershipErrorResult.MEMBERSHIP_NOT_FOUND.name());
+        assertThat(traceId).isNotBlank();
+
+        final List<SpanData> spans = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .toList();
+        assertThat(spans)
+                .extracting(SpanData::getName)
+                .contains(
+                        "http get /api/v1/memberships/{id}",
+                        "MembershipService#getMembershipETag",
+                        "MembershipRepository#findVersionById");
+        assertThat(spans)
+                .filteredOn(span -> span.getName().equals("MembershipRepository#findVersionById"))
+                .extracting(span -> span.getAttributes().get(AttributeKey.stringKey("rows")))
+                .containsExactly("0");
+        assertThat(spans)
+                .flatExtracting(span -> span.getAttributes().asMap().entrySet())
+                .anySatisfy(attribute -> {
+                    assertThat(attribute.getKey().getKey()).startsWith("jdbc.query");
+                    assertThat(attribute.getValue().toString()).containsIgnoringCase("membership");
+                });
+    }
+}
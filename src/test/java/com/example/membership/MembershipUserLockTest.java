@@ -0,0 +1,172 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// 핫 적립 경로를 실제 서비스 프록시로 보기 위해 hot-store 로 띄운다. checkpoint 는 테스트가 직접 부른다.
+@ActiveProfiles({"test", "hot-store"})
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:user-lock;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "membership.hot-balance.promote-threshold=3",
+            "membership.hot-balance.checkpoint-interval=1h",
+            "membership.hot-balance.node-id=user-lock-test",
+            "membership.user-lock.wait-timeout=2s"
+        })
+class MembershipUserLockTest {
+
+    private static final int TASKS = 32;
+    private static final int HOT_ACCRUALS = 2000;
+    private static final Duration USER_LOCK_WAIT = Duration.ofSeconds(2);
+
+    @TempDir
+    static Path walDirectory;
+
+    @DynamicPropertySource
+    static void walProperties(final DynamicPropertyRegistry registry) {
+        registry.add("membership.hot-balance.wal-dir", () -> walDirectory.resolve("context").toString());
+    }
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private HotBalanceStore hotBalanceStore;
+
+    @Autowired
+    private MembershipUserLock membershipUserLock;
+
+    private final MembershipUserLock userLock = new MembershipUserLock(256, Duration.ofSeconds(10));
+
+    private long pointOf(final Long membershipId) {
+        return membershipRepository.findVersionById(membershipId).orElseThrow().getPoint();
+    }
+
+    private static void awaitQueued(final Lock lock, final int queued) throws InterruptedException {
+        while (((ReentrantLock) lock).getQueueLength() < queued) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 요청은 하나씩, 도착한 순서대로 실행된다")
+    void sameUserRunsInArrivalOrder() throws Exception {
+        // given
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final Lock held = userLock.acquire("ordered-user");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TASKS; i++) {
+                final int sequence = i;
+                executor.submit(() -> {
+                    final Lock lock = userLock.acquire("ordered-user");
+                    try {
+                        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        order.add(sequence);
+                        Thread.sleep(1);
+                        active.decrementAndGet();
+                    } finally {
+                        lock.unlock();
+                    }
+                    return null;
+                });
+                // 앞 요청이 대기열에 들어간 뒤 다음 요청을 보낸다.
+                awaitQueued(held, i + 1);
+            }
+
+            // when
+            held.unlock();
+        }
+
+        // then
+        assertThat(peak.get()).isEqualTo(1);
+        assertThat(order).containsExactlyElementsOf(IntStream.range(0, TASKS).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("핫 멤버십 적립은 사용자 잠금을 거치지 않아 같은 사용자의 동시 적립이 줄 서지 않고 잔액도 맞음")
+    void hotAccrualBypassesUserLock() throws Exception {
+        // given
+        final String userId = "lock-hot-user";
+        final Long membershipId = membershipService
+                .addMembership(userId, MembershipType.NAVER, 0)
+                .getId();
+        for (int i = 0; i < 3; i++) {
+            membershipService.accumulateMembershipPoint(membershipId, userId, 10000);
+        }
+        hotBalanceStore.checkpoint();
+        final long promotedAt = pointOf(membershipId);
+        // 같은 사용자의 stripe 를 잡아 두어, 적립이 잠금을 탄다면 wait-timeout 뒤 USER_REQUEST_BUSY 로 실패한다.
+        final Lock held = membershipUserLock.acquire(userId);
+
+        // when
+        final long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < HOT_ACCRUALS; i++) {
+                futures.add(executor.submit(
+                        () -> membershipService.accumulateMembershipPoint(membershipId, userId, 10000)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            held.unlock();
+        }
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        hotBalanceStore.checkpoint();
+
+        // then
+        assertThat(elapsed).isLessThan(USER_LOCK_WAIT);
+        assertThat(pointOf(membershipId)).isEqualTo(promotedAt + HOT_ACCRUALS * 100L);
+    }
+
+    @Test
+    @DisplayName("대기 시간을 넘기면 USER_REQUEST_BUSY")
+    void waitTimeout() throws Exception {
+        // given
+        final MembershipUserLock shortWait = new MembershipUserLock(16, Duration.ofMillis(50));
+        final Lock held = shortWait.acquire("slow-user");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // when
+            final Future<?> waiting = executor.submit(() -> shortWait.acquire("slow-user"));
+
+            // then
+            assertThatThrownBy(waiting::get)
+                    .hasCauseInstanceOf(MembershipException.class)
+                    .cause()
+                    .extracting("errorResult")
+                    .isEqualTo(MembershipErrorResult.USER_REQUEST_BUSY);
+        } finally {
+            held.unlock();
+        }
+    }
+}
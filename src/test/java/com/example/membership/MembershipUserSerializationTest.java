@@ -0,0 +1,63 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class MembershipUserSerializationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Test
+    @DisplayName("같은 사용자의 동시 등록은 하나만 성공하고 나머지는 중복 등록 오류")
+    void concurrentDuplicateAdd() throws Exception {
+        // given
+        final String userId = "serialized-add";
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger duplicated = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    membershipService.addMembership(userId, MembershipType.NAVER, 1000);
+                    created.incrementAndGet();
+                } catch (MembershipException e) {
+                    assertThat(e.getErrorResult()).isEqualTo(MembershipErrorResult.DUPLICATED_MEMBERSHIP_REGISTER);
+                    duplicated.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(duplicated.get()).isEqualTo(THREADS - 1);
+        assertThat(membershipService.getMembershipList(userId)).hasSize(1);
+        assertThat(membershipService.getMembershipSummary(userId).getMembershipCount()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PartnerMembershipAggregatorTest {
+
+    private PartnerMembershipAggregator target;
+
+    @AfterEach
+    void tearDown() {
+        target.close();
+    }
+
+    // 호출 횟수를 세고, 지연을 테스트 중간에 바꿀 수 있는 stub
+    private static class CountingProvider implements PartnerMembershipProvider {
+        private final MembershipType membershipType;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Duration latency;
+
+        CountingProvider(final MembershipType membershipType, final Duration latency) {
+            this.membershipType = membershipType;
+            this.latency = latency;
+        }
+
+        @Override
+        public MembershipType getMembershipType() {
+            return membershipType;
+        }
+
+        @Override
+        public PartnerMembership fetch(final String userId) {
+            calls.incrementAndGet();
+            return new StubPartnerMembershipProvider(membershipType, latency).fetch(userId);
+        }
+    }
+
+    private PartnerMembershipAggregator aggregator(
+            final Duration cacheTtl, final PartnerMembershipProvider... providers) {
+        return aggregator(cacheTtl, 100, providers);
+    }
+
+    private PartnerMembershipAggregator aggregator(
+            final Duration cacheTtl, final int cacheMaxEntries, final PartnerMembershipProvider... providers) {
+        return new PartnerMembershipAggregator(
+                List.of(providers), Duration.ofMillis(200), cacheTtl, cacheMaxEntries, Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("제휴사를 동시에 호출해 전체 지연이 합이 아닌 최댓값에 가까움")
+    void fanOutRunsConcurrently() {
+        // given
+        target = aggregator(
+                Duration.ZERO,
+                new CountingProvider(MembershipType.NAVER, Duration.ofMillis(150)),
+                new CountingProvider(MembershipType.KAKAO, Duration.ofMillis(150)),
+                new CountingProvider(MembershipType.LINE, Duration.ofMillis(150)));
+
+        // when
+        final long startedAt = System.nanoTime();
+        final Map<MembershipType, PartnerMembership> result =
+                target.fetchAll("userId", List.of(MembershipType.values()));
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // then
+        assertThat(result).hasSize(3);
+        assertThat(result.values()).noneMatch(PartnerMembership::isDegraded);
+        assertThat(elapsed).isLessThan(Duration.ofMillis(400));
+    }
+
+    @Test
+    @DisplayName("느린 제휴사만 degraded 로 비워서 돌려주고 나머지는 정상")
+    void slowPartnerDegrades() {
+        // given
+        target = aggregator(
+                Duration.ZERO,
+                new CountingProvider(MembershipType.NAVER, Duration.ofMillis(10)),
+                new CountingProvider(MembershipType.KAKAO, Duration.ofSeconds(2)));
+
+        // when
+        final long startedAt = System.nanoTime();
+        final Map<MembershipType, PartnerMembership> result =
+                target.fetchAll("userId", List.of(MembershipType.NAVER, MembershipType.KAKAO));
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        // then
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(result.get(MembershipType.NAVER).isDegraded()).isFalse();
+        assertThat(result.get(MembershipType.NAVER).getTier()).isNotNull();
+        assertThat(result.get(MembershipType.KAKAO).isDegraded()).isTrue();
+        assertThat(result.get(MembershipType.KAKAO).getTier()).isNull();
+    }
+
+    @Test
+    @DisplayName("캐시가 살아 있으면 제휴사를 다시 호출하지 않음")
+    void freshCacheSkipsCall() {
+        // given
+        final CountingProvider naver = new CountingProvider(MembershipType.NAVER, Duration.ofMillis(10));
+        target = aggregator(Duration.ofMinutes(1), naver);
+
+        // when
+        final PartnerMembership first =
+                target.fetchAll("userId", List.of(MembershipType.NAVER)).get(MembershipType.NAVER);
+        final PartnerMembership second =
+                target.fetchAll("userId", List.of(MembershipType.NAVER)).get(MembershipType.NAVER);
+
+        // then
+        assertThat(naver.calls).hasValue(1);
+        assertThat(second.getTier()).isEqualTo(first.getTier());
+    }
+
+    @Test
+    @DisplayName("캐시가 만료된 뒤 제휴사가 느려지면 마지막 값을 degraded 로 돌려줌")
+    void staleCacheServedOnTimeout() {
+        // given
+        final CountingProvider naver = new CountingProvider(MembershipType.NAVER, Duration.ofMillis(10));
+        target = aggregator(Duration.ZERO, naver);
+        final PartnerMembership first =
+                target.fetchAll("userId", List.of(MembershipType.NAVER)).get(MembershipType.NAVER);
+
+        // when
+        naver.latency = Duration.ofSeconds(2);
+        final PartnerMembership second =
+                target.fetchAll("userId", List.of(MembershipType.NAVER)).get(MembershipType.NAVER);
+
+        // then
+        assertThat(naver.calls).hasValue(2);
+        assertThat(second.isDegraded()).isTrue();
+        assertThat(second.getTier()).isEqualTo(first.getTier());
+        assertThat(second.getPartnerPoint()).isEqualTo(first.getPartnerPoint());
+    }
+
+    @Test
+    @DisplayName("캐시가 가득 차면 가장 오래 안 쓴 사용자만 밀어냄")
+    void fullCacheEvictsLeastRecentlyUsed() {
+        // given
+        final CountingProvider naver = new CountingProvider(MembershipType.NAVER, Duration.ofMillis(10));
+        target = aggregator(Duration.ofMinutes(1), 2, naver);
+        target.fetchAll("user1", List.of(MembershipType.NAVER));
+        target.fetchAll("user2", List.of(MembershipType.NAVER));
+        target.fetchAll("user1", List.of(MembershipType.NAVER));
+
+        // when
+        target.fetchAll("user3", List.of(MembershipType.NAVER));
+        target.fetchAll("user1", List.of(MembershipType.NAVER));
+        target.fetchAll("user2", List.of(MembershipType.NAVER));
+
+        // then
+        assertThat(naver.calls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("제휴사 값의 degraded 상태가 바뀌면 version 도 바뀜")
+    void versionFollowsDegradedState() {
+        // given
+        final CountingProvider naver = new CountingProvider(MembershipType.NAVER, Duration.ofMillis(10));
+        target = aggregator(Duration.ZERO, naver);
+        target.fetchAll("userId", List.of(MembershipType.NAVER));
+        naver.latency = Duration.ofSeconds(2);
+        final long fresh = target.versionOf("userId");
+
+        // when
+        final PartnerMembership served =
+                target.fetchAll("userId", List.of(MembershipType.NAVER)).get(MembershipType.NAVER);
+        final long degraded = target.versionOf("userId");
+
+        // then
+        assertThat(served.isDegraded()).isTrue();
+        assertThat(degraded).isNotEqualTo(fresh);
+    }
+}
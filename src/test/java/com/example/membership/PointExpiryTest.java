@@ -0,0 +1,141 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class PointExpiryTest {
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private PointLotRepository pointLotRepository;
+
+    @Autowired
+    private PointExpirySweeper pointExpirySweeper;
+
+    @Autowired
+    private MembershipEventRepository membershipEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("적립 월 기준 만료 버킷")
+    void expiryBucket() {
+        final PointExpiryPolicy policy =
+                new PointExpiryPolicy(12, Clock.fixed(LocalDateTime.of(2024, 1, 20, 9, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        assertThat(policy.expiresOn(policy.today())).isEqualTo(LocalDate.of(2025, 2, 1));
+        assertThat(policy.expiresOn(LocalDate.of(2024, 1, 1))).isEqualTo(LocalDate.of(2025, 2, 1));
+        assertThat(policy.expiresOn(LocalDate.of(2024, 2, 1))).isEqualTo(LocalDate.of(2025, 3, 1));
+    }
+
+    @Test
+    @DisplayName("만료된 버킷만 잔액에서 차감되고 삭제됨")
+    void sweepExpiredLots() {
+        // given
+        final Long membershipId = membershipRepository
+                .save(Membership.builder()
+                        .userId("expiry-user")
+                        .membershipType(MembershipType.NAVER)
+                        .point(0L)
+                        .build())
+                .getId();
+        final LocalDate today = LocalDate.of(2030, 6, 15);
+        transactionTemplate.executeWithoutResult(status -> {
+            accrue(membershipId, today.minusMonths(2), 300);
+            accrue(membershipId, today.minusMonths(2), 200);
+            accrue(membershipId, today, 700);
+            accrue(membershipId, today.plusMonths(1), 1000);
+        });
+
+        // when
+        final int expired = pointExpirySweeper.sweep(today);
+
+        // then
+        assertThat(expired).isGreaterThanOrEqualTo(2);
+        assertThat(membershipRepository.findById(membershipId).orElseThrow().getPoint()).isEqualTo(1000L);
+        assertThat(pointLotRepository.findAll())
+                .filteredOn(lot -> lot.getMembershipId().equals(membershipId))
+                .singleElement()
+                .satisfies(lot -> assertThat(lot.getAmount()).isEqualTo(1000L));
+    }
+
+    @Test
+    @DisplayName("만료 버킷이 배치 크기보다 많아도 모두 처리")
+    void sweepManyPages() {
+        // given
+        final LocalDate today = LocalDate.of(2031, 1, 1);
+        final int memberships = 1_200;
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < memberships; i++) {
+                final Long membershipId = membershipRepository
+                        .save(Membership.builder()
+                                .userId("expiry-bulk-" + i)
+                                .membershipType(MembershipType.LINE)
+                                .point(0L)
+                                .build())
+                        .getId();
+                accrue(membershipId, today.minusDays(1), 10);
+            }
+        });
+
+        // when
+        final int expired = pointExpirySweeper.sweep(today);
+
+        // then
+        assertThat(expired).isGreaterThanOrEqualTo(memberships);
+        assertThat(membershipRepository.findAll())
+                .filteredOn(membership -> membership.getUserId().startsWith("expiry-bulk-"))
+                .allSatisfy(membership -> assertThat(membership.getPoint()).isZero());
+    }
+
+    @Test
+    @DisplayName("만료 버킷 합이 잔액보다 커도 실제로 빠진 만큼만 이벤트로 남김")
+    void sweepDebitsOnlyActualDeduction() {
+        // given
+        final Long membershipId = membershipRepository
+                .save(Membership.builder()
+                        .userId("expiry-short-user")
+                        .membershipType(MembershipType.KAKAO)
+                        .point(0L)
+                        .build())
+                .getId();
+        final LocalDate today = LocalDate.of(2032, 3, 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            // 버킷 합 800 중 잔액은 600 만 남은 상태
+            membershipRepository.increasePoint(membershipId, 600, LocalDateTime.now());
+            pointLotRepository.accrue(membershipId, today.minusMonths(1), 500);
+            pointLotRepository.accrue(membershipId, today.minusDays(1), 300);
+        });
+
+        // when
+        pointExpirySweeper.sweep(today);
+
+        // then
+        assertThat(membershipRepository.findById(membershipId).orElseThrow().getPoint()).isZero();
+        assertThat(membershipEventRepository.findAll())
+                .filteredOn(event -> membershipId.equals(event.getMembershipId())
+                        && event.getEventType() == MembershipEventType.EXPIRED)
+                .extracting(MembershipEvent::getPointDelta)
+                .containsExactlyInAnyOrder(-500L, -100L);
+    }
+
+    // 적립 경로와 동일하게 잔액과 버킷을 함께 올린다.
+    private void accrue(final Long membershipId, final LocalDate expiresOn, final long amount) {
+        membershipRepository.increasePoint(membershipId, amount, LocalDateTime.now());
+        pointLotRepository.accrue(membershipId, expiresOn, amount);
+    }
+}
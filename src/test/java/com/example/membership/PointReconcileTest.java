@@ -0,0 +1,115 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:reconcile;MODE=MariaDB;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "membership.reconcile.partitions=3",
+            "membership.reconcile.chunk-size=2"
+        })
+class PointReconcileTest {
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private PointReconciler pointReconciler;
+
+    @Autowired
+    private PointReconcileDriftRepository driftRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 적립 버킷은 그대로 두고 잔액만 바꿔 드리프트를 만든다.
+    private void shiftPoint(final Long membershipId, final long delta) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update("update membership set point = point + ? where id = ?", delta, membershipId));
+    }
+
+    private PointReconcileDrift driftOf(final String runId, final Long membershipId) {
+        final List<PointReconcileDrift> drifts = driftRepository.findAllByRunIdOrderById(runId).stream()
+                .filter(drift -> drift.getMembershipId().equals(membershipId))
+                .toList();
+        return drifts.isEmpty() ? null : drifts.get(0);
+    }
+
+    @Test
+    @DisplayName("잔액이 버킷 합보다 작으면 복구하고, 크면 리포트만 남긴다")
+    void repairsLostAccrualAndReportsExcess() {
+        // given
+        final Long lost = membershipService.addMembership("reconcile-lost", MembershipType.NAVER, 1000).getId();
+        final Long excess = membershipService.addMembership("reconcile-excess", MembershipType.KAKAO, 1000).getId();
+        final Long clean = membershipService.addMembership("reconcile-clean", MembershipType.LINE, 1000).getId();
+        shiftPoint(lost, -300);
+        shiftPoint(excess, 500);
+
+        // when
+        final PointReconcileReport report = pointReconciler.reconcile("run-drift");
+
+        // then
+        assertThat(report.getScanned()).isGreaterThanOrEqualTo(3);
+        assertThat(report.getDrifted()).isGreaterThanOrEqualTo(2);
+        assertThat(report.getRepaired()).isGreaterThanOrEqualTo(1);
+
+        final PointReconcileDrift lostDrift = driftOf("run-drift", lost);
+        assertThat(lostDrift.getRecordedPoint()).isEqualTo(700L);
+        assertThat(lostDrift.getAccruedPoint()).isEqualTo(1000L);
+        assertThat(lostDrift.getRepaired()).isTrue();
+        assertThat(membershipRepository.findById(lost).orElseThrow().getPoint()).isEqualTo(1000L);
+
+        final PointReconcileDrift excessDrift = driftOf("run-drift", excess);
+        assertThat(excessDrift.getRecordedPoint()).isEqualTo(1500L);
+        assertThat(excessDrift.getRepaired()).isFalse();
+        assertThat(membershipRepository.findById(excess).orElseThrow().getPoint()).isEqualTo(1500L);
+
+        assertThat(driftOf("run-drift", clean)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 runId 로 다시 돌면 체크포인트 다음부터만 처리한다")
+    void resumesFromCheckpoint() {
+        // given
+        final Long before = membershipService.addMembership("reconcile-before", MembershipType.NAVER, 1000).getId();
+        final Long last = membershipService.addMembership("reconcile-last", MembershipType.KAKAO, 1000).getId();
+        final PointReconcileReport first = pointReconciler.reconcile("run-resume");
+
+        // 마지막 파티션이 last 직전에서 죽은 것처럼 되돌리고, 양쪽 모두 드리프트를 만든다.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "update point_reconcile_checkpoint set finished = false, last_id = ? "
+                        + "where run_id = 'run-resume' and upper_id >= ?",
+                last - 1,
+                last));
+        shiftPoint(before, -100);
+        shiftPoint(last, -100);
+
+        // when
+        final PointReconcileReport resumed = pointReconciler.reconcile("run-resume");
+
+        // then
+        assertThat(resumed.getScanned()).isEqualTo(first.getScanned() + 1);
+        assertThat(driftOf("run-resume", last).getRepaired()).isTrue();
+        assertThat(driftOf("run-resume", before)).isNull();
+
+        // 새 run 은 처음부터 본다.
+        pointReconciler.reconcile("run-resume-next");
+        assertThat(driftOf("run-resume-next", before).getRepaired()).isTrue();
+        assertThat(membershipRepository.findById(before).orElseThrow().getPoint()).isEqualTo(1000L);
+    }
+}
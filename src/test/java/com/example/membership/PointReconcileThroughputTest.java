@@ -0,0 +1,93 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대량 행에서 정합성 점검 처리량을 잰다. 기본 10M 행이라 힙에 올리지 않도록 파일 DB(build/h2)를 쓴다.
+ * 행 수는 -Pmembership.reconcile.throughput-rows 로 줄일 수 있다. 기본 test 에서는 빠지고 ./gradlew largeTest 로 돈다.
+ */
+@Slf4j
+@Tag("large")
+@SpringBootTest(properties = {"membership.reconcile.partitions=8", "membership.reconcile.chunk-size=2000"})
+class PointReconcileThroughputTest {
+
+    private static final int ROWS = Integer.getInteger("membership.reconcile.throughput-rows", 10_000_000);
+    private static final int SEED_BATCH = 1_000_000;
+    private static final int DRIFT_EVERY = 1_000;
+
+    @Autowired
+    private PointReconciler pointReconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void freshDatabase(final DynamicPropertyRegistry registry) throws IOException {
+        final Path dir = Path.of("build", "h2");
+        Files.createDirectories(dir);
+        Files.deleteIfExists(dir.resolve("reconcile-throughput.mv.db"));
+        Files.deleteIfExists(dir.resolve("reconcile-throughput.trace.db"));
+        registry.add(
+                "spring.datasource.url",
+                () -> "jdbc:h2:file:" + dir.toAbsolutePath().resolve("reconcile-throughput")
+                        + ";MODE=MariaDB;LOCK_TIMEOUT=10000");
+    }
+
+    // id 는 1 부터 순서대로 직접 준다. DRIFT_EVERY 번째마다 잔액을 100 덜 반영한 상태로 만든다.
+    private void seed() {
+        for (int from = 1; from <= ROWS; from += SEED_BATCH) {
+            final int to = Math.min(ROWS, from + SEED_BATCH - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("INSERT INTO membership "
+                        + "(id, membership_type, user_id, point, created_at, updated_at) "
+                        + "SELECT X, 'NAVER', CONCAT('throughput-', X), "
+                        + "CASE WHEN MOD(X, " + DRIFT_EVERY + ") = 0 THEN 900 ELSE 1000 END, "
+                        + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+                jdbcTemplate.update("INSERT INTO point_lot (membership_id, expires_on, amount) "
+                        + "SELECT X, DATE '2099-01-01', 1000 FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("전체 행을 훑고 심어 둔 드리프트를 모두 복구한다")
+    void throughput() {
+        // given
+        seed();
+
+        // when
+        final PointReconcileReport report = pointReconciler.reconcile("run-throughput");
+
+        // then
+        log.info(
+                "Reconcile finished. rows: {}, elapsed: {}ms, rows/s: {}, drifted: {}",
+                report.getScanned(),
+                report.getElapsedMillis(),
+                report.getScanned() * 1000 / Math.max(1, report.getElapsedMillis()),
+                report.getDrifted());
+        assertThat(report.getScanned()).isEqualTo(ROWS);
+        assertThat(report.getDrifted()).isEqualTo(ROWS / DRIFT_EVERY);
+        assertThat(report.getRepaired()).isEqualTo(ROWS / DRIFT_EVERY);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM membership WHERE point <> 1000", Long.class))
+                .isZero();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class PointRedeemConcurrencyTest {
+
+    private static final long INITIAL_POINT = 10_000L;
+    private static final long REDEEM_AMOUNT = 7L;
+    private static final int REDEMPTIONS = 3_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private PointLotRepository pointLotRepository;
+
+    @Autowired
+    private PointLotService pointLotService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("동시 사용 요청이 몰려도 잔액은 음수가 되지 않고 성공 건수만큼만 차감됨")
+    void balanceNeverGoesNegative() throws Exception {
+        // given
+        final String userId = "redeem-stress";
+        final Long membershipId = membershipRepository
+                .save(Membership.builder()
+                        .userId(userId)
+                        .membershipType(MembershipType.NAVER)
+                        .point(0L)
+                        .build())
+                .getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            membershipRepository.increasePoint(membershipId, INITIAL_POINT, LocalDateTime.now());
+            pointLotService.accrue(membershipId, INITIAL_POINT);
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger insufficient = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < REDEMPTIONS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    membershipService.redeemMembershipPoint(membershipId, userId, REDEEM_AMOUNT);
+                    succeeded.incrementAndGet();
+                } catch (MembershipException e) {
+                    assertThat(e.getErrorResult()).isEqualTo(MembershipErrorResult.INSUFFICIENT_POINT);
+                    insufficient.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        final long balance = membershipRepository.findById(membershipId).orElseThrow().getPoint();
+        final long lotBalance = pointLotRepository.findBucketsByMembershipId(membershipId).stream()
+                .mapToLong(PointBucket::getAmount)
+                .sum();
+
+        assertThat(balance).isBetween(0L, REDEEM_AMOUNT - 1);
+        assertThat(succeeded.get()).isEqualTo((int) (INITIAL_POINT / REDEEM_AMOUNT));
+        assertThat(succeeded.get() + insufficient.get()).isEqualTo(REDEMPTIONS);
+        assertThat(balance).isEqualTo(INITIAL_POINT - succeeded.get() * REDEEM_AMOUNT);
+        assertThat(lotBalance).isEqualTo(balance);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.membership;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@SpringBootTest
+class PointTransferConcurrencyTest {
+
+    private static final long INITIAL_POINT = 5_000L;
+    private static final int TRANSFERS = 2_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Autowired
+    private PointLotRepository pointLotRepository;
+
+    @Autowired
+    private PointLotService pointLotService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long membershipWithPoint(final String userId, final MembershipType membershipType) {
+        final Long membershipId = membershipRepository
+                .save(Membership.builder()
+                        .userId(userId)
+                        .membershipType(membershipType)
+                        .point(0L)
+                        .build())
+                .getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            membershipRepository.increasePoint(membershipId, INITIAL_POINT, LocalDateTime.now());
+            pointLotService.accrue(membershipId, INITIAL_POINT);
+        });
+        return membershipId;
+    }
+
+    private long lotBalance(final Long membershipId) {
+        return pointLotRepository.findBucketsByMembershipId(membershipId).stream()
+                .mapToLong(PointBucket::getAmount)
+                .sum();
+    }
+
+    @Test
+    @DisplayName("반대 방향 이체가 동시에 몰려도 교착 없이 끝나고 합계가 보존됨")
+    void oppositeDirectionTransfersDoNotDeadlock() throws Exception {
+        // given
+        final String userId = "transfer-stress";
+        final Long naver = membershipWithPoint(userId, MembershipType.NAVER);
+        final Long kakao = membershipWithPoint(userId, MembershipType.KAKAO);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger insufficient = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < TRANSFERS; i++) {
+            final boolean forward = i % 2 == 0;
+            final long amount = 1 + i % 50;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    membershipService.transferMembershipPoint(
+                            forward ? naver : kakao, forward ? kakao : naver, userId, amount);
+                    succeeded.incrementAndGet();
+                } catch (MembershipException e) {
+                    assertThat(e.getErrorResult()).isEqualTo(MembershipErrorResult.INSUFFICIENT_POINT);
+                    insufficient.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        final long started = System.nanoTime();
+        start.countDown();
+        for (final Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        final double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        executor.shutdown();
+
+        // then
+        log.info(
+                "Transfers finished. ok: {}, insufficient: {}, transfers/s: {}",
+                succeeded.get(),
+                insufficient.get(),
+                String.format("%.1f", TRANSFERS / elapsedSeconds));
+
+        final long naverPoint = membershipRepository.findById(naver).orElseThrow().getPoint();
+        final long kakaoPoint = membershipRepository.findById(kakao).orElseThrow().getPoint();
+
+        assertThat(succeeded.get() + insufficient.get()).isEqualTo(TRANSFERS);
+        assertThat(naverPoint).isNotNegative();
+        assertThat(kakaoPoint).isNotNegative();
+        assertThat(naverPoint + kakaoPoint).isEqualTo(INITIAL_POINT * 2);
+        assertThat(lotBalance(naver)).isEqualTo(naverPoint);
+        assertThat(lotBalance(kakao)).isEqualTo(kakaoPoint);
+    }
+}
@@ -53,4 +53,37 @@ class RatePointServiceTest {
         // then
         assertThat(result).isEqualTo(300);
     }
+
+    @Test
+    @DisplayName("등급별 적립률: 만원 쓰면 실버 이백원, 골드 삼백원")
+    void paid10kWonByTier() {
+        // given
+        final int price = 10000;
+
+        // when
+        final int silver = ratePointService.calculateAmount(price, MembershipTier.SILVER);
+        final int gold = ratePointService.calculateAmount(price, MembershipTier.GOLD);
+
+        // then
+        assertThat(silver).isEqualTo(200);
+        assertThat(gold).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("int 곱셈이 넘치는 결제액도 등급 적립률대로 적립")
+    void largePriceByTier() {
+        // given
+        final int goldOverflow = 715_827_883; // x3 > Integer.MAX_VALUE
+        final int silverOverflow = 1_073_741_824; // x2 > Integer.MAX_VALUE
+
+        // when
+        final int gold = ratePointService.calculateAmount(goldOverflow, MembershipTier.GOLD);
+        final int silver = ratePointService.calculateAmount(silverOverflow, MembershipTier.SILVER);
+        final int max = ratePointService.calculateAmount(Integer.MAX_VALUE, MembershipTier.GOLD);
+
+        // then
+        assertThat(gold).isEqualTo(21_474_836);
+        assertThat(silver).isEqualTo(21_474_836);
+        assertThat(max).isEqualTo(64_424_509);
+    }
 }